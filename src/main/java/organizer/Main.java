@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Scanner;
 
 import organizer.activities.Adoption;
+import organizer.clients.ShelterClient;
 import organizer.datamanagement.AnimalUploading;
 import organizer.datamanagement.PeopleUpdloading;
 import organizer.entities.*;
@@ -215,6 +216,7 @@ public class Main {
             
             // Create new donor and save to file
             Donor newDonor = Donor.createNewDonor(sex, firstName, surname, birthDate, Role.DONOR);
+            ShelterClient.shared().addDonor(newDonor); // the new donor must be found by the adoption service
             
             // Set as current user and create menu
             currentUser = newDonor;
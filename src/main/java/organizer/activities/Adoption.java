@@ -1,14 +1,19 @@
 package organizer.activities;
 
+import organizer.datamanagement.AdoptionPool;
 import organizer.datamanagement.AnimalUploading;
 import organizer.datamanagement.PeopleUpdloading;
-import static organizer.datamanagement.SpeciesSet.specieSet;
+import organizer.datamanagement.SpeciesSet;
 import organizer.entities.*;
 import organizer.exceptionmanager.AdoptionException;
 import organizer.exceptionmanager.OasisExceptionShieldingHandler;
 import organizer.exceptionmanager.OasisUserException;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -22,65 +27,151 @@ public class Adoption {
    //core structure for adoption management
     
    
-    private List<Animal> adoptableAnimals; //aanimals available for adoption
-    private String selectedSpecies; // species selected by user 
-    private List<Person> donors;
-    private HashMap<String, Animal> adopted=new HashMap<String, Animal>(); //map structure (name animal-key/animal-value)
-    private HashMap<Donor, Animal>adoptionMatches=new HashMap<Donor, Animal>(); //matches donor with adopted animal
+    // concurrent adopters: an animal is claimed atomically from the pool before any record is written
+    private AdoptionPool adoptableAnimals; //aanimals available for adoption, queued by species
+    private List<Person> donors; // rarely written (new accounts), read on every authorization
+    private final AdoptionIndex adoptions=new AdoptionIndex(); //donor id -> adopted animals and animal id -> donor
+    // batch matching: requests wait here, the one waiting the longest first, until a run finds them an animal
+    private final PriorityBlockingQueue<AdoptionRequest> pendingRequests = new PriorityBlockingQueue<>(64, AdoptionRequest.BY_WAITING_TIME);
+    private final AtomicLong requestTickets = new AtomicLong();
+    private Scanner console; // created on the first console adoption, System.in is read through one scanner
 
     public Adoption(String fileAnimal, String filePeople) throws OasisUserException {
      // costrustor initializes adoption system by loading animals and people
      //use of exception shielding to handle file loading errors
       OasisExceptionShieldingHandler.executeWithShield(() ->{
         AnimalUploading uploading = new AnimalUploading(fileAnimal); //uploader for animals
-        this.adoptableAnimals=new ArrayList<>();  
-        this.adoptableAnimals=uploading.animalList();                                      
+        this.adoptableAnimals=new AdoptionPool(uploading.animalList());
         PeopleUpdloading updloading1 =new PeopleUpdloading(filePeople);
         //fitering authorized donors
         this.donors =updloading1.peopleList().stream()
                                                      .filter(p->p instanceof Donor)
-                                                     .collect(Collectors.toList());
+                                                     .collect(Collectors.toCollection(CopyOnWriteArrayList::new));
         System.out.println("Adoption system initialized with"+adoptableAnimals.size()+"animals and"+donors.size()+"authorized donors");
   
     }, "adoption system initialization");
 }
    //it processes an adoption from a verified donor--sspecies selection--adoption complation
+   //interactive version for callers without a scanner of their own: reads the species from System.in
     public void adopt( Donor donor) throws OasisUserException {
+      adopt(donor, console());
+    }
+
+   //interactive version: the species is read with the caller's scanner (the menu one), the donor is checked once
+    public void adopt(Donor donor, Scanner input) throws OasisUserException {
       OasisExceptionShieldingHandler.executeWithShield(() ->{
-         //check animal availability
-        if (adoptableAnimals==null|| adoptableAnimals.isEmpty()){
+         checkAdoptionAllowed(donor);
 
-            throw new AdoptionException("Distance adoption not available in this moment. Not available animals");
-          
-        } 
-       //verify person authorization
-       if(!isDonorAuthorized(donor)){
-           throw new AdoptionException("Donor not authorized");
-       }
          //display available species and get user selection
 
          displayAvailableSpecies();
-         this.selectedSpecies=getUserSpeciesSelection();
+         String selectedSpecies=getUserSpeciesSelection(input);
 
          //find and assign animal for adoption
-         Animal selectedAnimal=findAvailableAnimalBySpecies(selectedSpecies);
-         completeAdoptionProcess(donor, selectedAnimal);
+         Animal selectedAnimal=recordAdoption(donor, claimAvailableAnimalBySpecies(selectedSpecies));
+         System.out.println("Adoption completed successfully: "+donor.getName()+" "+donor.getSurname()+"adopted"+selectedAnimal.getName());  
          
           },"adoption process");
                 
       }
-      
+
+      private synchronized Scanner console(){
+          if (console==null){
+              console=new Scanner(System.in);
+          }
+          return console;
+      }
+
+      //programmatic adoption (batch jobs, other front ends): no console input or output.
+      //the donor gets the animal of the species waiting the longest
+      public Animal adopt(Donor donor, String species) throws OasisUserException {
+        return OasisExceptionShieldingHandler.executeWithShield(() -> {
+          checkAdoptionAllowed(donor);
+          return recordAdoption(donor, claimAvailableAnimalBySpecies(species));
+        }, "adoption process");
+      }
+
+      //programmatic adoption of the first available animal accepted by the filter
+      public Animal adoptAny(Donor donor, Predicate<Animal> filter) throws OasisUserException {
+        return OasisExceptionShieldingHandler.executeWithShield(() -> {
+          if (filter==null){
+              throw new AdoptionException("A filter is required");
+          }
+          checkAdoptionAllowed(donor);
+          Animal animal = adoptableAnimals.claimFirst(filter);
+          if (animal==null){
+              throw new AdoptionException("No animal matching the request available for adoption");
+          }
+          return recordAdoption(donor, animal);
+        }, "adoption process");
+      }
+
+      //queues an adoption request for the next matching run, species in order of preference
+      public AdoptionRequest requestAdoption(Donor donor, List<String> speciesPreferences) throws OasisUserException {
+        return OasisExceptionShieldingHandler.executeWithShield(() -> {
+          if (donor==null || !isDonorAuthorized(donor)){
+              throw new AdoptionException("Donor not authorized");
+          }
+          if (speciesPreferences==null || speciesPreferences.isEmpty() || speciesPreferences.stream().anyMatch(Objects::isNull)){
+              throw new AdoptionException("At least one species is required");
+          }
+          AdoptionRequest request = new AdoptionRequest(requestTickets.incrementAndGet(), donor, speciesPreferences, System.currentTimeMillis());
+          pendingRequests.add(request);
+          return request;
+        }, "adoption request");
+      }
+
+      //matching run: requests are served by waiting time, each one takes the first animal of its preferred species
+      //still available in the pools. Unmatched requests keep their place for the next run
+      public List<AdoptionMatch> runMatching() {
+          List<AdoptionRequest> batch = new ArrayList<>(pendingRequests.size());
+          pendingRequests.drainTo(batch);
+          batch.sort(AdoptionRequest.BY_WAITING_TIME); // already in order, linear
+
+          List<AdoptionMatch> matches = new ArrayList<>();
+          List<AdoptionRequest> unmatched = new ArrayList<>();
+          for (AdoptionRequest request : batch) {
+              Animal animal = null;
+              if (!adoptableAnimals.isEmpty()) {
+                  for (String species : request.species()) {
+                      animal = adoptableAnimals.claim(species); // one queue poll
+                      if (animal != null) {
+                          break;
+                      }
+                  }
+              }
+              if (animal == null) {
+                  unmatched.add(request);
+                  continue;
+              }
+              try {
+                  matches.add(new AdoptionMatch(request, recordAdoption(request.donor(), animal)));
+              } catch (AdoptionException e) {
+                  unmatched.add(request); // the animal was adopted meanwhile, the request waits for the next run
+              }
+          }
+          pendingRequests.addAll(unmatched);
+          System.out.println("Adoption matching: " + matches.size() + " matched, " + unmatched.size() + " still waiting");
+          return matches;
+      }
+
+      public int getPendingRequestCount() {
+          return pendingRequests.size();
+      }
+
       //method that cancels an existing adoption and returns animal to the available list
       public void cancelAdoption(Animal adoptedAnimal, Donor donor) throws OasisUserException {   
         OasisExceptionShieldingHandler.executeWithShield(() -> {
          //verify if adoption exists and that animal and dono matches
-          if (!adoptionMatches.containsKey(donor)|| !adoptionMatches.get(donor).equals(adoptedAnimal)){ 
+          if (adoptedAnimal==null || donor==null){
+           throw new AdoptionException("Animal and donor are required to cancel an adoption");
+          }
+          // of two concurrent cancellations only one gets the record, the donor loses status Adopter with the last adoption
+          Animal matched = adoptions.unlink(donor, adoptedAnimal);
+          if (matched==null){ 
            throw new AdoptionException("Error!Animal not found in adoption records for this donor");
         }
-           adoptableAnimals.add(adoptedAnimal); 
-           adopted.remove(adoptedAnimal.getName());
-           adoptionMatches.remove(donor);
-           donor.setStatusDonator(Status.None); // donor loses status Adopter
+           adoptableAnimals.offer(matched); // listed again only once the records are gone
 
    
 
@@ -91,6 +182,20 @@ public class Adoption {
 
 
     //method for internal operation
+
+      //check animal availability and donor authorization
+      private void checkAdoptionAllowed(Donor donor) throws OasisUserException{
+        if (adoptableAnimals==null|| adoptableAnimals.isEmpty()){
+
+            throw new AdoptionException("Distance adoption not available in this moment. Not available animals");
+          
+        } 
+       //verify person authorization
+       if(donor==null || !isDonorAuthorized(donor)){
+           throw new AdoptionException("Donor not authorized");
+       }
+      }
+
      //Name/surnames matching. To implement in future better authentication
       private boolean isDonorAuthorized(Donor donor){
 
@@ -104,42 +209,40 @@ public class Adoption {
       private void displayAvailableSpecies(){
           
           System.out.println("Available species for adoption:");
-          specieSet.forEach(System.out::println);
+          SpeciesSet.names().forEach(System.out::println);
       }
 
       //Gets species selection from user input
       
-      private String getUserSpeciesSelection(){
+      private String getUserSpeciesSelection(Scanner scanner){
 
-         Scanner scanner = new Scanner(System.in);
          System.out.print("Enter the desiderd species:");
 
          return scanner.nextLine().trim();
       }
 
-      //this method finds first available animal of a specified species. 
+      //this method claims the first available animal of a specified species, the animal is then reserved for this donor.
       //throws exception if no animal of the species are available
 
-      private Animal findAvailableAnimalBySpecies(String species) throws OasisUserException{
+      private Animal claimAvailableAnimalBySpecies(String species) throws OasisUserException{
 
-         return adoptableAnimals.stream()        
-                                .filter(animal -> animal.getSpecies().equalsIgnoreCase(species))
-                                .findFirst()
-                                .orElseThrow(()->new AdoptionException(
-                                 "No animal of species "+species+" available for adoption"));
+         Animal animal = adoptableAnimals.claim(species);
+         if (animal==null){
+            throw new AdoptionException("No animal of species "+species+" available for adoption");
+         }
+         return animal;
                                 }
       
           
       
-      //complete the adoption process by updating records
-
-      private void completeAdoptionProcess(Donor donor, Animal animal){
-
-               adopted.put(animal.getName(), animal );  
-               adoptableAnimals.remove(animal);
-               adoptionMatches.put(donor, animal);
-               donor.setStatusDonator(Status.Adopter);
-               System.out.println("Adoption completed successfully: "+donor.getName()+" "+donor.getSurname()+"adopted"+animal.getName());  
+      //records the adoption of an animal already claimed from the pool and returns it.
+      //throws when the animal turns out to be adopted already, no success is reported without a record
+
+      private Animal recordAdoption(Donor donor, Animal animal) throws AdoptionException{
+               if (!adoptions.link(donor, animal)){
+                   throw new AdoptionException("Animal "+animal.getName()+" is already adopted");
+               }
+               return animal;
       }
 
       //getters and setters for external access
@@ -148,16 +251,27 @@ public class Adoption {
       public List<Animal>getAdoptableAnimals(){
         
         // Return defensive copy to prevent external modification
-        return new ArrayList<>(adoptableAnimals);
+        return adoptableAnimals.getAnimals();
 
          
     
 }
           
       
+      //latest animal adopted by each donor, see getAnimalsAdoptedBy for all of them
       public Map<Donor, Animal> getAdoptionMatches(){
 
-         return new HashMap<>(adoptionMatches);
+         return adoptions.latestByDonor();
+      }
+
+      //animals adopted by the donor, in adoption order
+      public List<Animal> getAnimalsAdoptedBy(Donor donor){
+         return donor==null ? new ArrayList<>() : adoptions.animalsAdoptedBy(donor);
+      }
+
+      //donor who adopted the animal, null if the animal is not adopted
+      public Donor getAdopterOf(Animal animal){
+         return animal==null ? null : adoptions.adopterOf(animal.getId());
       }
 
        public List<Animal> getAvailableAnimals() {
@@ -167,7 +281,32 @@ public class Adoption {
           // Returns map of adopted animals (name -> animal)
     public Map<String, Animal> getAdoptedAnimals() {
         // Return defensive copy to prevent external modification
-        return new HashMap<>(adopted);
+        Map<String, Animal> byName = new HashMap<>();
+        adoptions.adoptedAnimals().forEach(animal -> byName.put(animal.getName(), animal));
+        return byName;
+    }
+
+    // Returns adopted animal with the given id, null if that animal is not adopted
+    public Animal getAdoptedAnimal(int animalId) {
+        return adoptions.adoptedAnimal(animalId);
+    }
+
+    // lists an animal registered after the files were loaded, false if it is already available or adopted
+    public boolean addAnimal(Animal animal) {
+        if (animal != null && adoptions.adopterOf(animal.getId()) != null) {
+            return false; // listed again only by cancelAdoption
+        }
+        return adoptableAnimals.offer(animal);
+    }
+
+    // authorizes a donor registered after the files were loaded
+    public void addDonor(Donor donor) {
+        if (donor == null) {
+            throw new IllegalArgumentException("Donor cannot be null");
+        }
+        if (!isDonorAuthorized(donor)) {
+            donors.add(donor);
+        }
     }
 
     // Returns list of authorized donors
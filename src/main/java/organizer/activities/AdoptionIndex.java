@@ -0,0 +1,109 @@
+package organizer.activities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import organizer.entities.Animal;
+import organizer.entities.Donor;
+import organizer.entities.Status;
+
+/*
+Bidirectional index of the adoptions keyed by ids: animal id -> adoption (donor, animal, order) and
+donor id -> ids of the animals adopted, so a donor can adopt several animals and adopt, cancel and
+"animals adopted by" are hash operations. The status of the donor follows the index: Adopter with the
+first adoption, None when the last one is cancelled, both changed under the lock of the donor entry
+ */
+class AdoptionIndex {
+
+    private record Link(Donor donor, Animal animal, long order) {
+    }
+
+    private final Map<Integer, Link> byAnimal = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> animalsByDonor = new ConcurrentHashMap<>();
+    private final AtomicLong order = new AtomicLong();      // adoption sequence, latest adoption of a donor
+
+    // false when the animal is already adopted
+    boolean link(Donor donor, Animal animal) {
+        if (byAnimal.putIfAbsent(animal.getId(), new Link(donor, animal, order.incrementAndGet())) != null) {
+            return false;
+        }
+        animalsByDonor.compute(donor.getId(), (id, animalIds) -> {
+            if (animalIds == null) {
+                animalIds = ConcurrentHashMap.newKeySet();
+            }
+            animalIds.add(animal.getId());
+            donor.setStatusDonator(Status.Adopter);
+            return animalIds;
+        });
+        return true;
+    }
+
+    // removes the adoption and returns the animal recorded, null when the donor did not adopt it
+    Animal unlink(Donor donor, Animal animal) {
+        Link link = byAnimal.get(animal.getId());
+        if (link == null || link.donor().getId() != donor.getId() || !byAnimal.remove(animal.getId(), link)) {
+            return null; // not adopted by this donor, or cancelled meanwhile
+        }
+        animalsByDonor.computeIfPresent(donor.getId(), (id, animalIds) -> {
+            animalIds.remove(animal.getId());
+            if (animalIds.isEmpty()) {
+                donor.setStatusDonator(Status.None); // no adoption left
+                return null;
+            }
+            return animalIds;
+        });
+        return link.animal();
+    }
+
+    // animals adopted by the donor, in adoption order
+    List<Animal> animalsAdoptedBy(Donor donor) {
+        Set<Integer> animalIds = animalsByDonor.get(donor.getId());
+        if (animalIds == null) {
+            return new ArrayList<>();
+        }
+        List<Link> links = new ArrayList<>(animalIds.size());
+        for (int animalId : animalIds) {
+            Link link = byAnimal.get(animalId);
+            if (link != null) {
+                links.add(link);
+            }
+        }
+        links.sort(Comparator.comparingLong(Link::order));
+        List<Animal> result = new ArrayList<>(links.size());
+        links.forEach(link -> result.add(link.animal()));
+        return result;
+    }
+
+    Donor adopterOf(int animalId) {
+        Link link = byAnimal.get(animalId);
+        return link == null ? null : link.donor();
+    }
+
+    Animal adoptedAnimal(int animalId) {
+        Link link = byAnimal.get(animalId);
+        return link == null ? null : link.animal();
+    }
+
+    List<Animal> adoptedAnimals() {
+        List<Animal> result = new ArrayList<>(byAnimal.size());
+        byAnimal.values().forEach(link -> result.add(link.animal()));
+        return result;
+    }
+
+    // latest animal adopted by each donor
+    Map<Donor, Animal> latestByDonor() {
+        Map<Integer, Link> latest = new HashMap<>();
+        for (Link link : byAnimal.values()) {
+            latest.merge(link.donor().getId(), link, (a, b) -> a.order() > b.order() ? a : b);
+        }
+        Map<Donor, Animal> result = new HashMap<>();
+        latest.values().forEach(link -> result.put(link.donor(), link.animal()));
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package organizer.activities;
+
+import organizer.entities.Animal;
+
+/*
+Animal assigned to a request by a batch matching run
+ */
+public record AdoptionMatch(AdoptionRequest request, Animal animal) {
+}
@@ -0,0 +1,21 @@
+package organizer.activities;
+
+import java.util.Comparator;
+import java.util.List;
+
+import organizer.entities.Donor;
+
+/*
+Adoption request waiting for a batch matching run: species in order of preference, the ticket breaks
+ties between requests submitted in the same millisecond
+ */
+public record AdoptionRequest(long ticket, Donor donor, List<String> species, long submittedAt) {
+
+    // the request waiting the longest comes first
+    public static final Comparator<AdoptionRequest> BY_WAITING_TIME =
+        Comparator.comparingLong(AdoptionRequest::submittedAt).thenComparingLong(AdoptionRequest::ticket);
+
+    public AdoptionRequest {
+        species = List.copyOf(species);
+    }
+}
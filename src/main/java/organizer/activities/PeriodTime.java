@@ -1,10 +1,11 @@
 package organizer.activities;
 
-//used to organized visit at Oasis ( two options)
+//used to organized visit at Oasis. Evening is only bookable when the SlotCalendar gives it places
 
 public enum PeriodTime {
 
     Morning, 
-    Afternoon
+    Afternoon,
+    Evening
 
 }
@@ -1,43 +1,61 @@
 package organizer.activities;
 
+import java.time.LocalDate;
+
+import organizer.datamanagement.VisitIdAllocator;
+import organizer.datamanagement.VisitManagement;
 import organizer.entities.Donor;
 
-//it manages visits (creation, modification and cancellation). Use of a autoincrementing ID for unique visit identification
+//it manages visits (creation, modification and cancellation). Ids come from the shared VisitIdAllocator, unique also across restarts
 public class Visit {
 
-    private int visitId;
-    private static int nextAvailableId = 1; //shared with all visit instances
+    private final int visitId;
     private Donor visitor;
-    private String scheduledDate;
-    private PeriodTime scheduledTime;
-    private boolean active;
+    // volatile: visits are read by concurrent sessions, changes are made under the visit lock in VisitManagement
+    private volatile long scheduledDay; // epoch day, the date text is only built by getDate
+    private volatile PeriodTime scheduledTime;
+    private volatile boolean active;
+    private volatile long cancelledDay = NOT_CANCELLED; // epoch day of the cancellation, used by the retention policy
+
+    private static final long NOT_CANCELLED = Long.MIN_VALUE;
 
     //with this constructor with three elements it is possible to create a visit. It assigns a unique id and sets visit as active
     public Visit(Donor visitor, String date, PeriodTime time) {
+        this(visitor, VisitManagement.parseDate(date), time);
+    }
 
-        this.visitId = nextAvailableId++; // 
+    public Visit(Donor visitor, long epochDay, PeriodTime time) {
+
+        this.visitId = VisitIdAllocator.shared().nextId(); // atomic, safe with concurrent bookings
         this.visitor = visitor;
-        this.scheduledDate = date;
+        this.scheduledDay = epochDay;
         this.scheduledTime = time;
         this.active=true;
 
     }
   //method to modify visit
     public void reschedule(String newDate, PeriodTime newTime){
+        reschedule(VisitManagement.parseDate(newDate), newTime);
+    }
+
+    public void reschedule(long newDay, PeriodTime newTime){
         if(!active){
             throw new IllegalStateException("Cannot reschedule visit not active"); // exception for status not suitable for operation
         }
         
-        this.scheduledDate = newDate;
+        this.scheduledDay = newDay;
         this.scheduledTime = newTime;
         
-        System.out.println("Visit "+visitId+"rescheduled to "+newDate+" "+newTime);
+        System.out.println("Visit "+visitId+"rescheduled to "+getDate()+" "+newTime);
 
     }
 
     //method to cancel the visit
     public void cancel(){
        
+        if (active) {
+            this.cancelledDay = LocalDate.now().toEpochDay();
+        }
         this.active=false;
         System.out.println("Visit"+ visitId+"has been cancelled");
 
@@ -57,7 +75,17 @@ public class Visit {
          return visitor;
         }
     public String getDate() { 
-        return scheduledDate;
+        return LocalDate.ofEpochDay(scheduledDay).toString(); // yyyy-MM-dd
+        }
+    public long getEpochDay() {
+        return scheduledDay;
+        }
+    public LocalDate getLocalDate() {
+        return LocalDate.ofEpochDay(scheduledDay);
+        }
+    // day of the cancellation, null for visits not cancelled
+    public LocalDate getCancelledOn() {
+        return cancelledDay == NOT_CANCELLED ? null : LocalDate.ofEpochDay(cancelledDay);
         }
     public PeriodTime getTime() {
          return scheduledTime;
@@ -2,6 +2,8 @@ package organizer.clients;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Scanner;
 
 
 
@@ -15,29 +17,107 @@ import organizer.exceptionmanager.OasisExceptionShieldingHandler;
 
 /*Client-facing interface for shelter operations
 thanks to the facade pattern, it hides the complexity of multiple services and allows
-simplified interface for menus
+simplified interface for menus.
+The menus share one client (shared()): the adoption service is loaded from the files on first use and
+then kept in memory, initializeSystem with the same files is only a check. Animals and donors created
+later are added to the loaded service (addAnimal/addDonor), so in-memory adoptions and queued requests
+are kept. refresh() reloads the files, invalidate() drops the service so the next initializeSystem loads it again
 */
 
 public class ShelterClient {
-   
-    private Adoption adoptionService;
-  
+
+    public static final String DEFAULT_ANIMAL_FILE = "Animal-list.txt";
+    public static final String DEFAULT_PERSON_FILE = "People-list.txt";
+
+    private static volatile ShelterClient shared;
+
+    private volatile Adoption adoptionService;
+    private String animalFile;   // files the service was loaded from
+    private String personFile;
+
+    // client used by the menus, created on first use
+    public static ShelterClient shared() {
+        ShelterClient client = shared;
+        if (client == null) {
+            synchronized (ShelterClient.class) {
+                client = shared;
+                if (client == null) {
+                    client = new ShelterClient();
+                    shared = client;
+                }
+            }
+        }
+        return client;
+    }
 
     // it initializes adoption system that include adoption methods using shielding handler
-    public void initializeSystem(String animalFile, String personFile) throws OasisUserException {
-        
-       
-        OasisExceptionShieldingHandler.executeWithShield(() -> {
-               this.adoptionService = new Adoption(animalFile, personFile);
-        }, "shelter system initialization");
+    // nothing is read when the service is already loaded from the same files
+    public synchronized void initializeSystem(String animalFile, String personFile) throws OasisUserException {
+        if (adoptionService != null && Objects.equals(animalFile, this.animalFile) && Objects.equals(personFile, this.personFile)) {
+            return;
+        }
+        load(animalFile, personFile);
+    }
+
+    // reloads the files the service was loaded from, adoptions made in memory are lost
+    public synchronized void refresh() throws OasisUserException {
+        if (animalFile == null) {
+            throw new OasisUserException("Shelter system not initialized");
+        }
+        load(animalFile, personFile);
+    }
+
+    // the next initializeSystem reads the files again
+    public synchronized void invalidate() {
+        adoptionService = null;
+    }
+
+    public boolean isInitialized() {
+        return adoptionService != null;
+    }
+
+    // lists a newly created animal in the loaded service; when nothing is loaded yet the files already include it
+    public void addAnimal(Animal animal) {
+        Adoption service = adoptionService;
+        if (service != null) {
+            service.addAnimal(animal);
+        }
+    }
+
+    // authorizes a newly registered donor in the loaded service, as addAnimal
+    public void addDonor(Donor donor) {
+        Adoption service = adoptionService;
+        if (service != null) {
+            service.addDonor(donor);
+        }
+    }
+
+    // the service read once, so a concurrent invalidate() cannot take it away in the middle of an operation
+    private Adoption service() throws OasisUserException {
+        Adoption service = adoptionService;
+        if (service == null) {
+            throw new OasisUserException("Shelter system not initialized");
+        }
+        return service;
+    }
+
+    // the service is built on a local and published last, once it is loaded and its files are recorded;
+    // a failed load leaves the previous service and files as they were
+    private void load(String animalFile, String personFile) throws OasisUserException {
+        Adoption loaded = OasisExceptionShieldingHandler.executeWithShield(
+               () -> new Adoption(animalFile, personFile), "shelter system initialization");
+        this.animalFile = animalFile;
+        this.personFile = personFile;
+        this.adoptionService = loaded;
         
         System.out.println("Shelter system initialized ");
     }
     
-    public void processAdoptionRequest(Donor donor) throws OasisUserException {
+    // the species is read with the caller's scanner
+    public void processAdoptionRequest(Donor donor, Scanner scanner) throws OasisUserException {
         //shielding for adoption operations
         OasisExceptionShieldingHandler.executeWithShield(() -> {
-            adoptionService.adopt(donor);
+            service().adopt(donor, scanner);
         }, "adoption request processing");
         
         System.out.println("Adoption completed successfully!");
@@ -46,7 +126,7 @@ public class ShelterClient {
     public void cancelAdoptionRequest(Animal adoptedAnimal, Donor donor) throws OasisUserException {
         // shielding for cancellation
         OasisExceptionShieldingHandler.executeWithShield(() -> {
-            adoptionService.cancelAdoption(adoptedAnimal, donor);
+            service().cancelAdoption(adoptedAnimal, donor);
         }, "adoption cancellation");
         
         System.out.println("Adoption cancelled successfully");
@@ -56,7 +136,7 @@ public class ShelterClient {
         try {
             // shielding for reading operations
             return OasisExceptionShieldingHandler.executeWithShield(() -> {
-                return adoptionService.getAdoptableAnimals();
+                return service().getAdoptableAnimals();
             }, "retrieving available animals");
         } catch (OasisUserException e) {
             System.out.println("Error loading animals: " + e.getMessage());
@@ -0,0 +1,145 @@
+package organizer.datamanagement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import organizer.entities.Animal;
+
+/*
+Animals available for adoption, shared by concurrent adopters without locks. Every animal has an
+atomic availability flag and whoever flips it from available to claimed owns the animal, so two
+donors can never get the same one. Animals wait in a FIFO queue of their species: a claim polls the
+queue and tries the flag, an entry found already claimed (taken by id or by a filter) is simply
+dropped. An entry is in its queue at most once: a returned animal flips its flag back and is queued
+again only when its entry is not still waiting there, so the queues never hold more than one entry
+per animal however many times it is claimed and returned
+ */
+public class AdoptionPool {
+
+    private static final class Entry {
+        final Animal animal;
+        final AtomicBoolean available = new AtomicBoolean(false);
+        final AtomicBoolean queued = new AtomicBoolean(false); // in the queue of its species
+
+        Entry(Animal animal) {
+            this.animal = animal;
+        }
+    }
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();                  // animal id -> entry
+    private final Map<String, Queue<Entry>> bySpecies = new ConcurrentHashMap<>();          // lowercase species -> waiting animals
+    private final AtomicInteger available = new AtomicInteger();
+
+    public AdoptionPool() {
+    }
+
+    public AdoptionPool(Collection<Animal> animals) {
+        animals.forEach(this::offer);
+    }
+
+    // lists the animal (or gives it back after a cancelled adoption), false if it is already available
+    public boolean offer(Animal animal) {
+        if (animal == null) {
+            throw new IllegalArgumentException("Animal cannot be null");
+        }
+        Entry entry = entries.computeIfAbsent(animal.getId(), id -> new Entry(animal));
+        if (!entry.available.compareAndSet(false, true)) {
+            return false;
+        }
+        available.incrementAndGet();
+        // an entry still queued (claimed by id and not yet polled) is found there by the next claim
+        if (entry.queued.compareAndSet(false, true)) {
+            bySpecies.computeIfAbsent(speciesKey(animal.getSpecies()), k -> new ConcurrentLinkedQueue<>()).offer(entry);
+        }
+        return true;
+    }
+
+    // claims the animal waiting the longest among those of the species, null when none is left
+    public Animal claim(String species) {
+        if (species == null) {
+            return null;
+        }
+        Queue<Entry> queue = bySpecies.get(speciesKey(species));
+        if (queue == null) {
+            return null;
+        }
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            // cleared before the claim: an offer made from now on queues the entry again
+            entry.queued.set(false);
+            if (tryClaim(entry)) {
+                return entry.animal;
+            }
+            // stale entry: claimed by id or by a filter while it was waiting
+        }
+        return null;
+    }
+
+    // claims this very animal, false when somebody else got it first or it is not listed
+    public boolean claim(Animal animal) {
+        Entry entry = animal == null ? null : entries.get(animal.getId());
+        return entry != null && tryClaim(entry);
+    }
+
+    // claims the first available animal accepted by the filter, null when none is; an animal taken by
+    // somebody else during the scan is skipped
+    public Animal claimFirst(Predicate<Animal> filter) {
+        for (Entry entry : entries.values()) {
+            if (entry.available.get() && filter.test(entry.animal) && tryClaim(entry)) {
+                return entry.animal;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryClaim(Entry entry) {
+        if (entry.available.compareAndSet(true, false)) {
+            available.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isAvailable(Animal animal) {
+        Entry entry = animal == null ? null : entries.get(animal.getId());
+        return entry != null && entry.available.get();
+    }
+
+    // information operations, snapshots that may miss claims in progress
+
+    public List<Animal> getAnimals() {
+        List<Animal> result = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.available.get()) {
+                result.add(entry.animal);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return available.get();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // entries waiting in the queue of the species, stale ones included
+    int queuedEntries(String species) {
+        Queue<Entry> queue = bySpecies.get(speciesKey(species));
+        return queue == null ? 0 : queue.size();
+    }
+
+    private static String speciesKey(String species) {
+        return species.trim().toLowerCase();
+    }
+}
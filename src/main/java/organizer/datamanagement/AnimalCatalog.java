@@ -0,0 +1,131 @@
+package organizer.datamanagement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import organizer.entities.Animal;
+
+/*
+In-memory collection of animals with a species index. It executes AnimalQuery objects choosing
+the index bucket when the query filters by species (or the vet caseload when the query filters by
+veterinarian), otherwise it falls back to a (parallel) scan. Animals are keyed by id and caseload ids
+resolve to the catalog's own instances; the caseload index is trusted, an empty one is an empty answer
+ */
+public class AnimalCatalog {
+
+    private final Map<Integer, Animal> animals = new LinkedHashMap<>();         // id -> animal, insertion order kept
+    private final Map<String, Set<Animal>> bySpecies = new HashMap<>();         // lowercase species -> animals
+
+    public AnimalCatalog() {
+    }
+
+    public AnimalCatalog(Collection<Animal> animals) {
+        animals.forEach(this::add);
+    }
+
+    // catalog maintenance, both index and main map are updated together
+
+    // a different instance with the same id (a reloaded record) replaces the one held
+    public void add(Animal animal) {
+        if (animal == null) {
+            throw new IllegalArgumentException("Animal cannot be null");
+        }
+        Animal previous = animals.get(animal.getId());
+        if (previous == animal) {
+            return;
+        }
+        if (previous != null) {
+            unindex(previous);
+        }
+        animals.put(animal.getId(), animal);
+        bySpecies.computeIfAbsent(speciesKey(animal.getSpecies()), k -> new LinkedHashSet<>()).add(animal);
+    }
+
+    public boolean remove(Animal animal) {
+        if (!contains(animal)) {
+            return false;
+        }
+        animals.remove(animal.getId());
+        unindex(animal);
+        return true;
+    }
+
+    private void unindex(Animal animal) {
+        String key = speciesKey(animal.getSpecies());
+        Set<Animal> bucket = bySpecies.get(key);
+        if (bucket != null) {
+            bucket.remove(animal);
+            if (bucket.isEmpty()) {
+                bySpecies.remove(key);
+            }
+        }
+    }
+
+    public boolean contains(Animal animal) {
+        return animal != null && animals.get(animal.getId()) == animal;
+    }
+
+    // query execution: index bucket when it covers the query, full scan otherwise
+
+    public List<Animal> find(AnimalQuery query) {
+        Collection<Animal> candidates = candidatesFor(query);
+        return query.run(candidates, candidates.size());
+    }
+
+    public Optional<Animal> findFirst(AnimalQuery query) {
+        List<Animal> result = find(query.copyWithLimit(1));
+        return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
+    }
+
+    public long count(AnimalQuery query) {
+        return query.count(candidatesFor(query));
+    }
+
+    private Collection<Animal> candidatesFor(AnimalQuery query) {
+        Collection<Animal> candidates = animals.values();
+        if (query.getSpecies() != null) {
+            Set<Animal> bucket = bySpecies.get(speciesKey(query.getSpecies()));
+            candidates = bucket == null ? List.of() : bucket;
+        }
+        if (query.getVeterinarian() != null) {
+            // caseload index, usually far smaller than a species bucket; ids are resolved against this
+            // catalog's instances, the query itself checks their current vet
+            List<Animal> caseload = new ArrayList<>();
+            for (int animalId : VeterinarianCaseload.caseloadIdsOf(query.getVeterinarian())) {
+                Animal animal = animals.get(animalId);
+                if (animal != null) {
+                    caseload.add(animal);
+                }
+            }
+            if (caseload.size() < candidates.size()) {
+                candidates = caseload;
+            }
+        }
+        return candidates;
+    }
+
+    private static String speciesKey(String species) {
+        return species.trim().toLowerCase();
+    }
+
+    // information operations
+
+    public List<Animal> getAnimals() {
+        return new ArrayList<>(animals.values()); // defensive copy
+    }
+
+    public int size() {
+        return animals.size();
+    }
+
+    public boolean isEmpty() {
+        return animals.isEmpty();
+    }
+}
@@ -0,0 +1,217 @@
+package organizer.datamanagement;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import organizer.entities.Admin;
+import organizer.entities.Animal;
+
+/*
+Typed criteria over animals. A query collects the filters (species, sex, health flags, vet, registration range)
+plus ordering and limit, and it can be run directly on a collection (scan) or handed to an AnimalCatalog
+that answers it through an index when one covers the criteria
+ */
+public class AnimalQuery {
+
+    // above this size a scan is done with a parallel stream
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private String species;
+    private String sex;
+    private String name;
+    private Boolean vaccinated;
+    private Boolean sterilized;
+    private Boolean underMedicalCare;
+    private Admin veterinarian;
+    private LocalDate registeredFrom;
+    private LocalDate registeredTo;
+    private Comparator<Animal> ordering;
+    private int limit = Integer.MAX_VALUE;
+
+    private AnimalQuery() {
+    }
+
+    // starting point: a query without criteria matches every animal
+    public static AnimalQuery all() {
+        return new AnimalQuery();
+    }
+
+    // criteria setters (fluent)
+
+    public AnimalQuery species(String species) {
+        if (species == null || species.trim().isEmpty()) {
+            throw new IllegalArgumentException("Species selection cannot be empty");
+        }
+        this.species = species.trim();
+        return this;
+    }
+
+    public AnimalQuery sex(String sex) {
+        this.sex = sex == null ? null : sex.trim();
+        return this;
+    }
+
+    public AnimalQuery named(String name) {
+        this.name = name == null ? null : name.trim();
+        return this;
+    }
+
+    public AnimalQuery vaccinated(boolean vaccinated) {
+        this.vaccinated = vaccinated;
+        return this;
+    }
+
+    public AnimalQuery sterilized(boolean sterilized) {
+        this.sterilized = sterilized;
+        return this;
+    }
+
+    public AnimalQuery underMedicalCare(boolean underMedicalCare) {
+        this.underMedicalCare = underMedicalCare;
+        return this;
+    }
+
+    public AnimalQuery treatedBy(Admin veterinarian) {
+        this.veterinarian = veterinarian;
+        return this;
+    }
+
+    // both bounds are inclusive, a null bound leaves that side open
+    public AnimalQuery registeredBetween(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid range: " + from + " is after " + to);
+        }
+        this.registeredFrom = from;
+        this.registeredTo = to;
+        return this;
+    }
+
+    public AnimalQuery orderBy(Comparator<Animal> ordering) {
+        this.ordering = ordering;
+        return this;
+    }
+
+    public AnimalQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    // checks a single animal against every criteria set on the query
+
+    public boolean matches(Animal animal) {
+        if (species != null && !animal.getSpecies().equalsIgnoreCase(species)) {
+            return false;
+        }
+        if (sex != null && !animal.getSex().equalsIgnoreCase(sex)) {
+            return false;
+        }
+        if (name != null && !animal.getName().equalsIgnoreCase(name)) {
+            return false;
+        }
+        if (vaccinated != null && animal.isVaccinated() != vaccinated) {
+            return false;
+        }
+        if (sterilized != null && animal.isSterilized() != sterilized) {
+            return false;
+        }
+        if (underMedicalCare != null && animal.isUnderMedicalCare() != underMedicalCare) {
+            return false;
+        }
+        if (veterinarian != null && !isTreatedBy(animal, veterinarian)) {
+            return false;
+        }
+        LocalDate registered = animal.getRegistrationDay();
+        if (registeredFrom != null && registered.isBefore(registeredFrom)) {
+            return false;
+        }
+        return registeredTo == null || !registered.isAfter(registeredTo);
+    }
+
+    // same vet by id, the admin may have been loaded again since the assignment
+    private static boolean isTreatedBy(Animal animal, Admin veterinarian) {
+        Admin current = animal.getAssignedVeterinarian();
+        return current != null && current.getId() == veterinarian.getId();
+    }
+
+    // scan execution over any collection, used when no index is available
+
+    public List<Animal> execute(Collection<Animal> animals) {
+        return run(animals, animals.size());
+    }
+
+    public Optional<Animal> findFirst(Collection<Animal> animals) {
+        List<Animal> result = copyWithLimit(1).execute(animals);
+        return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
+    }
+
+    public long count(Collection<Animal> animals) {
+        Stream<Animal> stream = animals.size() >= PARALLEL_THRESHOLD ? animals.parallelStream() : animals.stream();
+        return Math.min(stream.filter(this::matches).count(), limit);
+    }
+
+    // shared execution path: filter the candidates, then apply ordering and limit
+    List<Animal> run(Collection<Animal> candidates, int size) {
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        Stream<Animal> stream = size >= PARALLEL_THRESHOLD ? candidates.parallelStream() : candidates.stream();
+        stream = stream.filter(this::matches);
+        if (ordering != null) {
+            stream = stream.sorted(ordering);
+        }
+        if (limit != Integer.MAX_VALUE) {
+            stream = stream.limit(limit);
+        }
+        return stream.collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    AnimalQuery copyWithLimit(int newLimit) {
+        AnimalQuery copy = new AnimalQuery();
+        copy.species = species;
+        copy.sex = sex;
+        copy.name = name;
+        copy.vaccinated = vaccinated;
+        copy.sterilized = sterilized;
+        copy.underMedicalCare = underMedicalCare;
+        copy.veterinarian = veterinarian;
+        copy.registeredFrom = registeredFrom;
+        copy.registeredTo = registeredTo;
+        copy.ordering = ordering;
+        copy.limit = Math.min(limit, newLimit);
+        return copy;
+    }
+
+    // getters used by the catalog to choose an index
+
+    public String getSpecies() {
+        return species;
+    }
+
+    public Admin getVeterinarian() {
+        return veterinarian;
+    }
+
+    public Predicate<Animal> asPredicate() {
+        return this::matches;
+    }
+
+    @Override
+    public String toString() {
+        return "AnimalQuery{species=" + species + ", sex=" + sex + ", name=" + name +
+               ", vaccinated=" + vaccinated + ", sterilized=" + sterilized +
+               ", underMedicalCare=" + underMedicalCare +
+               ", veterinarian=" + (veterinarian == null ? null : veterinarian.getName()) +
+               ", registered=" + registeredFrom + ".." + registeredTo +
+               ", limit=" + (limit == Integer.MAX_VALUE ? "none" : limit) + "}";
+    }
+}
@@ -21,8 +21,8 @@ public class AnimalUploading {
     private ArrayList<Animal> animalList= new ArrayList<Animal>();
     
 
-    // regex pattern for validating animal data format: "Animal [sex] [name] [species]"
-    private static final Pattern ANIMAL_PATTERN = Pattern.compile("^Animal\\s+([FfMm])\\s+(\\w{2,20})\\s+(\\w{2,20})$");
+    // regex pattern for validating animal data format: "Animal [sex] [name] [species] [id]" (id missing in older records)
+    private static final Pattern ANIMAL_PATTERN = Pattern.compile("^Animal\\s+([FfMm])\\s+(\\w{2,20})\\s+(\\w{2,20})(?:\\s+(\\d+))?$");
     
 
     //costructor load animals using exception shielding
@@ -33,16 +33,18 @@ public class AnimalUploading {
              OasisExceptionShieldingHandler.executeWithShield(() -> {
                 
                 List<String> fileLines = Files.readAllLines(Path.of(nameFile)); //it returns a list of strings that is analized through for-cycle and processAnimalLine method
-                for(String line:fileLines) {
-                  processAnimalLine(line.trim());
+                EntityDirectory.ANIMALS.reserve(fileLines); // line numbers used as ids are not handed out to new animals
+                for(int i=0; i<fileLines.size(); i++) {
+                  processAnimalLine(fileLines.get(i).trim(), i+1);
                 }
-                System.out.println("Successfully loaded"+animalList.size()+"animals");
+                System.out.println("Successfully loaded "+animalList.size()+" animals");
              }, "uploading animals");
         
     }
 
     //it processes a single line using regex validation and it creates animal objects only for line matching the given format
-    private void processAnimalLine(String line) throws AnimalCreationException{
+    //records saved without id take their line number, stable as the file is only appended
+    private void processAnimalLine(String line, int lineNumber) throws AnimalCreationException{
       if(line.isEmpty()){
         return; // for empty lines
       }
@@ -50,7 +52,14 @@ public class AnimalUploading {
       Matcher matcher =ANIMAL_PATTERN.matcher(line);
       if(matcher.find()){
           String[] parts = line.split("\\s+");
-          Animal newAnimal= loadFromFile(parts[1], parts[2], parts[3]);
+          int id;
+          try {
+            id = matcher.group(4) != null ? EntityDirectory.parseId(matcher.group(4)) : lineNumber;
+          } catch (IllegalArgumentException e) {
+            System.out.println("Invalid data format, ignored: "+e.getMessage()); // only this line is skipped
+            return;
+          }
+          Animal newAnimal= loadFromFile(id, parts[1], parts[2], parts[3]);
           animalList.add(newAnimal);
 
       } else {
@@ -0,0 +1,39 @@
+package organizer.datamanagement;
+
+import java.time.LocalDate;
+
+import organizer.activities.PeriodTime;
+import organizer.activities.Visit;
+
+/*
+Read-only copy of a visit moved to the VisitArchive. The donor is kept by id, cancelledOn is null
+for visits that were not cancelled
+ */
+public record ArchivedVisit(int visitId, int donorId, long epochDay, PeriodTime period, LocalDate cancelledOn) {
+
+    static ArchivedVisit of(Visit visit) {
+        return new ArchivedVisit(visit.getVisitId(), visit.getVisitor().getId(), visit.getEpochDay(),
+                                 visit.getTime(), visit.getCancelledOn());
+    }
+
+    public LocalDate date() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    public boolean isCancelled() {
+        return cancelledOn != null;
+    }
+
+    // one line of an archive segment: id donorId epochDay period cancelledEpochDay (- when not cancelled)
+    String toLine() {
+        return visitId + " " + donorId + " " + epochDay + " " + period + " " +
+               (cancelledOn == null ? "-" : String.valueOf(cancelledOn.toEpochDay()));
+    }
+
+    static ArchivedVisit fromLine(String line) {
+        String[] parts = line.split(" ");
+        LocalDate cancelled = "-".equals(parts[4]) ? null : LocalDate.ofEpochDay(Long.parseLong(parts[4]));
+        return new ArchivedVisit(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]),
+                                 PeriodTime.valueOf(parts[3]), cancelled);
+    }
+}
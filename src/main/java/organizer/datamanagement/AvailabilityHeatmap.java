@@ -0,0 +1,190 @@
+package organizer.datamanagement;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import organizer.activities.PeriodTime;
+
+/*
+Remaining places of every slot from today to the end of the horizon, one int per (day, period) at
+(day - firstDay) * periods + period. VisitManagement refreshes the cell of a slot after each change of
+its counter, so availability over the horizon is read from the array. The window is rebuilt when the
+day changes (first access after midnight) or when the rules of the SlotCalendar change.
+The cells are the leaves of a max segment tree: the first slot with at least k free places is found
+by descending the tree in O(log n), long fully booked stretches are skipped in one step
+ */
+class AvailabilityHeatmap {
+
+    private static final PeriodTime[] PERIODS = PeriodTime.values();
+
+    // built as a whole and replaced, cells are refreshed in place.
+    // tree[1] is the root, children of node i are 2i and 2i+1, cell c is the leaf leaves + c
+    private static final class Window {
+        final long firstDay;
+        final long calendarVersion;
+        final int leaves;
+        final AtomicIntegerArray tree;
+
+        Window(long firstDay, long calendarVersion, int leaves, AtomicIntegerArray tree) {
+            this.firstDay = firstDay;
+            this.calendarVersion = calendarVersion;
+            this.leaves = leaves;
+            this.tree = tree;
+        }
+    }
+
+    private final VisitManagement visitManager;
+    private final SlotCalendar calendar;
+    private final int horizonDays;
+    private final int cells;
+    private volatile Window window;
+
+    AvailabilityHeatmap(VisitManagement visitManager, SlotCalendar calendar, int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Horizon must be at least one day");
+        }
+        this.visitManager = visitManager;
+        this.calendar = calendar;
+        this.horizonDays = horizonDays;
+        this.cells = horizonDays * PERIODS.length;
+    }
+
+    int getHorizonDays() {
+        return horizonDays;
+    }
+
+    // remaining places of the slot, -1 when the day is outside the window
+    int remaining(long epochDay, PeriodTime period) {
+        Window current = current();
+        long offset = epochDay - current.firstDay;
+        if (offset < 0 || offset >= horizonDays) {
+            return -1;
+        }
+        return current.tree.get(current.leaves + (int) offset * PERIODS.length + period.ordinal());
+    }
+
+    // first slot from (day, periodIndex) to lastDay with at least places free, null when there is none.
+    // Days before and after the window are checked slot by slot
+    Slot find(long day, int periodIndex, long lastDay, int places) {
+        Window current = current();
+        long windowEnd = current.firstDay + horizonDays - 1;
+        while (day <= lastDay && day < current.firstDay) {
+            Slot slot = scan(day, periodIndex, places);
+            if (slot != null) {
+                return slot;
+            }
+            day++;
+            periodIndex = 0;
+        }
+        if (day <= lastDay && day <= windowEnd) {
+            int from = (int) (day - current.firstDay) * PERIODS.length + periodIndex;
+            int to = (int) (Math.min(lastDay, windowEnd) - current.firstDay) * PERIODS.length + PERIODS.length - 1;
+            int cell = firstAtLeast(current, 1, 0, current.leaves - 1, from, to, places);
+            if (cell >= 0) {
+                return new Slot(current.firstDay + cell / PERIODS.length, PERIODS[cell % PERIODS.length],
+                                current.tree.get(current.leaves + cell));
+            }
+            day = windowEnd + 1;
+            periodIndex = 0;
+        }
+        for (; day <= lastDay; day++, periodIndex = 0) {
+            Slot slot = scan(day, periodIndex, places);
+            if (slot != null) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private Slot scan(long day, int periodIndex, int places) {
+        for (int p = periodIndex; p < PERIODS.length; p++) {
+            int remaining = visitManager.computeRemaining(day, PERIODS[p]);
+            if (remaining >= places) {
+                return new Slot(day, PERIODS[p], remaining);
+            }
+        }
+        return null;
+    }
+
+    // leftmost cell in [from, to] whose value reaches places, -1 when none; subtrees below places are skipped
+    private static int firstAtLeast(Window w, int node, int nodeFrom, int nodeTo, int from, int to, int places) {
+        if (nodeTo < from || nodeFrom > to || w.tree.get(node) < places) {
+            return -1;
+        }
+        if (nodeFrom == nodeTo) {
+            return nodeFrom;
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        int found = firstAtLeast(w, 2 * node, nodeFrom, middle, from, to, places);
+        return found >= 0 ? found : firstAtLeast(w, 2 * node + 1, middle + 1, nodeTo, from, to, places);
+    }
+
+    // called after the counter of the slot changed; a window replaced meanwhile is refreshed as well
+    void refresh(long epochDay, PeriodTime period) {
+        Window current = window;
+        while (current != null) {
+            long offset = epochDay - current.firstDay;
+            if (offset < 0 || offset >= horizonDays) {
+                return;
+            }
+            store(current, (int) offset * PERIODS.length + period.ordinal(), epochDay, period);
+            if (window == current) {
+                return;
+            }
+            current = window;
+        }
+    }
+
+    // every value is read back after the write: a thread that wrote a stale value (of the cell or of a
+    // node above it) sees the difference and writes again, so the last write always holds the current value
+    private void store(Window target, int cell, long epochDay, PeriodTime period) {
+        AtomicIntegerArray tree = target.tree;
+        int node = target.leaves + cell;
+        int value;
+        do {
+            value = visitManager.computeRemaining(epochDay, period);
+            tree.set(node, value);
+        } while (visitManager.computeRemaining(epochDay, period) != value);
+        for (node >>>= 1; node >= 1; node >>>= 1) {
+            int max;
+            do {
+                max = Math.max(tree.get(2 * node), tree.get(2 * node + 1));
+                tree.set(node, max);
+            } while (Math.max(tree.get(2 * node), tree.get(2 * node + 1)) != max);
+        }
+    }
+
+    private Window current() {
+        Window current = window;
+        if (current == null || current.firstDay != LocalDate.now().toEpochDay()
+                || current.calendarVersion != calendar.version()) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    private synchronized Window rebuild() {
+        long today = LocalDate.now().toEpochDay();
+        calendar.rollForward();
+        Window current = window;
+        if (current != null && current.firstDay == today && current.calendarVersion == calendar.version()) {
+            return current; // rebuilt by another thread
+        }
+        long version = calendar.version();
+        int leaves = Integer.highestOneBit(cells) == cells ? cells : Integer.highestOneBit(cells) << 1;
+        AtomicIntegerArray tree = new AtomicIntegerArray(2 * leaves); // padding leaves stay at 0
+        for (int cell = 0; cell < cells; cell++) {
+            tree.set(leaves + cell, visitManager.computeRemaining(today + cell / PERIODS.length, PERIODS[cell % PERIODS.length]));
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            tree.set(node, Math.max(tree.get(2 * node), tree.get(2 * node + 1)));
+        }
+        current = new Window(today, version, leaves, tree);
+        window = current;
+        // changes that happened while the cells were filled are stored again in the published window
+        for (int cell = 0; cell < cells; cell++) {
+            store(current, cell, today + cell / PERIODS.length, PERIODS[cell % PERIODS.length]);
+        }
+        return current;
+    }
+}
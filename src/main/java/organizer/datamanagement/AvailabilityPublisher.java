@@ -0,0 +1,96 @@
+package organizer.datamanagement;
+
+import java.time.LocalDate;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Push notifications of slot availability: VisitManagement publishes the Slot (with its remaining places)
+every time a booking, cancellation or reschedule changes it. Each subscriber has its own bounded buffer
+and asks for items through its Subscription (backpressure); a booking thread never waits for a slow
+subscriber, an event that does not fit in a full buffer is dropped and counted
+ */
+public class AvailabilityPublisher implements Flow.Publisher<Slot>, AutoCloseable {
+
+    private final SubmissionPublisher<Slot> publisher;
+    private final LongAdder dropped = new LongAdder();
+
+    public AvailabilityPublisher() {
+        this.publisher = new SubmissionPublisher<>();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Slot> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    // only the slots between from and to (both included) reach the subscriber
+    public void subscribe(Flow.Subscriber<? super Slot> subscriber, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        publisher.subscribe(new RangeSubscriber(subscriber, from.toEpochDay(), to.toEpochDay()));
+    }
+
+    void publish(Slot slot) {
+        if (publisher.hasSubscribers()) {
+            publisher.offer(slot, (subscriber, item) -> {
+                dropped.increment();
+                return false; // no retry, the booking goes on
+            });
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    // forwards the slots of the range; a filtered event is replaced by a new request so the demand of the subscriber stays exact
+    private static final class RangeSubscriber implements Flow.Subscriber<Slot> {
+        private final Flow.Subscriber<? super Slot> downstream;
+        private final long firstDay;
+        private final long lastDay;
+        private Flow.Subscription subscription;
+
+        RangeSubscriber(Flow.Subscriber<? super Slot> downstream, long firstDay, long lastDay) {
+            this.downstream = downstream;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(Slot slot) {
+            if (slot.epochDay() >= firstDay && slot.epochDay() <= lastDay) {
+                downstream.onNext(slot);
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
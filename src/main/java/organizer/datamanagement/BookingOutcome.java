@@ -0,0 +1,21 @@
+package organizer.datamanagement;
+
+import organizer.activities.Visit;
+
+/*
+Result of one request of a batch booking: the visit created, or the reason it was refused
+ */
+public record BookingOutcome(BookingRequest request, Visit visit, String failure) {
+
+    static BookingOutcome booked(BookingRequest request, Visit visit) {
+        return new BookingOutcome(request, visit, null);
+    }
+
+    static BookingOutcome failed(BookingRequest request, String failure) {
+        return new BookingOutcome(request, null, failure);
+    }
+
+    public boolean isBooked() {
+        return visit != null;
+    }
+}
@@ -0,0 +1,15 @@
+package organizer.datamanagement;
+
+import organizer.activities.PeriodTime;
+import organizer.entities.Donor;
+
+/*
+One visit to book through VisitManagement.bookVisits, the date is the epoch day of the visit
+ */
+public record BookingRequest(Donor donor, long epochDay, PeriodTime period) {
+
+    // date typed as yyyy-MM-dd, parsed here once
+    public static BookingRequest of(Donor donor, String date, PeriodTime period) {
+        return new BookingRequest(donor, VisitManagement.parseDate(date), period);
+    }
+}
@@ -0,0 +1,101 @@
+package organizer.datamanagement;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Thread-safe dictionary that interns a low-cardinality string (species, profession) to a small int code.
+Entities keep the code instead of the string, so each spelling keeps its own code and is shown as
+written. Live counts are kept per key (the value trimmed and lowercased, normalized once when a spelling
+is interned): "Gatto" and "gatto" count together. Codes are never reused, lookups by code are a plain array read
+ */
+public class CodeRegistry {
+
+    // one entry per distinct spelling, sharing the live counter of its key
+    private static final class Entry {
+        final String value;
+        final AtomicInteger live;
+
+        Entry(String value, AtomicInteger live) {
+            this.value = value;
+            this.live = live;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> liveByKey = new ConcurrentHashMap<>(); // key -> entities
+    private volatile Entry[] entries = new Entry[16];
+    private int size; // guarded by this, only written when a new value shows up
+
+    // interns the value and counts one more entity using it
+    public int acquire(String value) {
+        int code = codeFor(value);
+        entries[code].live.incrementAndGet();
+        return code;
+    }
+
+    // the entity holding the code does not use it anymore
+    public void release(int code) {
+        entry(code).live.updateAndGet(n -> n > 0 ? n - 1 : 0);
+    }
+
+    // interns the value without touching the counters
+    public int codeFor(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Value cannot be null or empty");
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : codes.computeIfAbsent(value, this::append);
+    }
+
+    // called inside computeIfAbsent, so at most once per distinct value
+    private synchronized int append(String value) {
+        Entry[] current = entries;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = new Entry(value, liveByKey.computeIfAbsent(key(value), k -> new AtomicInteger()));
+        entries = current;
+        return size++;
+    }
+
+    public String valueOf(int code) {
+        return entry(code).value;
+    }
+
+    // entities using the value or another spelling of it
+    public int liveCount(int code) {
+        return entry(code).live.get();
+    }
+
+    // sorted keys currently used by at least one entity
+    public Set<String> liveKeys() {
+        Set<String> keys = new TreeSet<>();
+        liveByKey.forEach((key, live) -> {
+            if (live.get() > 0) {
+                keys.add(key);
+            }
+        });
+        return keys;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private Entry entry(int code) {
+        Entry[] current = entries;
+        if (code < 0 || code >= current.length || current[code] == null) {
+            throw new IllegalArgumentException("Unknown code: " + code);
+        }
+        return current[code];
+    }
+}
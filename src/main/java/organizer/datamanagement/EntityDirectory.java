@@ -0,0 +1,138 @@
+package organizer.datamanagement;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import organizer.entities.Admin;
+import organizer.entities.Animal;
+import organizer.entities.Being;
+import organizer.entities.Person;
+
+/*
+Id allocation and id -> entity lookup backed by a dense array (the id is the array index).
+Animals and people have separate id spaces, people ids are shared by admins and donors
+as both are persisted in the same file. Records saved before ids existed take their line number,
+so the loaders and the factories saving new records reserve the ids of the whole file first.
+Entities are registered by the loaders and factories once built, never from a constructor
+ */
+public class EntityDirectory<T extends Being> {
+
+    // an instance replaced by a changed record stops counting in the code registries and leaves its vet's caseload
+    public static final EntityDirectory<Animal> ANIMALS = new EntityDirectory<>(animal -> {
+        SpeciesSet.registry.release(animal.getSpeciesCode());
+        Admin veterinarian = animal.getAssignedVeterinarian();
+        if (veterinarian != null) {
+            VeterinarianCaseload.discharge(veterinarian, animal);
+        }
+    });
+    public static final EntityDirectory<Person> PEOPLE = new EntityDirectory<>(person -> {
+        if (person instanceof Admin admin) {
+            ProfessionalSet.registry.release(admin.getProfessionCode());
+        }
+    });
+
+    private static final int INITIAL_CAPACITY = 64;
+    // ids index a dense array, a record with a larger id is rejected instead of growing it without limit
+    public static final int MAX_ID = 1 << 20;
+
+    private final AtomicInteger lastId = new AtomicInteger(0);
+    private volatile Being[] entities = new Being[INITIAL_CAPACITY];
+    private final Consumer<? super T> onReplaced;
+
+    public EntityDirectory() {
+        this(entity -> { });
+    }
+
+    public EntityDirectory(Consumer<? super T> onReplaced) {
+        this.onReplaced = onReplaced;
+    }
+
+    // returns a fresh id, never handed out before in this JVM
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    // id of a record read from a file, IllegalArgumentException when it is not a number in 1..MAX_ID
+    public static int parseId(String text) {
+        try {
+            int id = Integer.parseInt(text);
+            if (id > 0 && id <= MAX_ID) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid id: " + text);
+    }
+
+    // records an id coming from a file so that fresh ids are allocated after it
+    public void claim(int id) {
+        if (id <= 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Invalid id: " + id);
+        }
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    // reserves the ids a file can hold: line numbers of records without id and the ids written in it,
+    // fresh ids are then allocated after all of them
+    public void reserve(List<String> lines) {
+        int highest = lines.size();
+        for (String line : lines) {
+            String[] tokens = line.trim().split("\\s+");
+            String last = tokens[tokens.length - 1];
+            if (!last.isEmpty() && last.chars().allMatch(Character::isDigit)) {
+                try {
+                    highest = Math.max(highest, parseId(last));
+                } catch (IllegalArgumentException e) {
+                    // rejected again, with its line, when the file is loaded
+                }
+            }
+        }
+        if (highest > 0) {
+            claim(Math.min(highest, MAX_ID));
+        }
+    }
+
+    // as reserve(lines), nothing to reserve when the file does not exist yet
+    public void reserve(Path file) throws IOException {
+        if (Files.exists(file)) {
+            reserve(Files.readAllLines(file));
+        }
+    }
+
+    // stores the entity in its slot; a reloaded record replaces the previous instance with the same id,
+    // which is handed to onReplaced once (its registry codes stop counting as live)
+    @SuppressWarnings("unchecked")
+    public synchronized void register(T entity) {
+        int id = entity.getId();
+        claim(id);
+        Being[] current = entities;
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, id + 1));
+        }
+        Being previous = current[id];
+        current[id] = entity;
+        entities = current;
+        if (previous != null && previous != entity) {
+            onReplaced.accept((T) previous);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        Being[] current = entities;
+        if (id <= 0 || id >= current.length) {
+            return null;
+        }
+        return (T) current[id];
+    }
+
+    public int getLastId() {
+        return lastId.get();
+    }
+}
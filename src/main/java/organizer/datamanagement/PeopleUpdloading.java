@@ -24,10 +24,12 @@ public class PeopleUpdloading {
     //same procedure as AnimalUploading
      // I create an arraylist as did with AnimalUploading class
     private ArrayList<Person> peopleList= new ArrayList<Person>();
+    // shares the repeated birth dates between lines of this load
+    private final StringCanonicalizer canonicalizer = new StringCanonicalizer();
     
     //regex pattern for people data 
 
-    private static final Pattern PERSON_PATTERN = Pattern.compile("^(Admin|Donor)\\s+([FfMm])\\s+(\\w+)\\s+(\\w+)\\s+(\\d{4}-\\d{2}-\\d{2})\\s+(\\w+)\\s+(VETERINARIAN|ADMIN|DONOR)$");
+    private static final Pattern PERSON_PATTERN = Pattern.compile("^(Admin|Donor)\\s+([FfMm])\\s+(\\w+)\\s+(\\w+)\\s+(\\d{4}-\\d{2}-\\d{2})\\s+(\\w+)\\s+(VETERINARIAN|ADMIN|DONOR)(?:\\s+(\\d+))?$");
 // I create a method that checks string format (it will be line of my text) through regular expressions
     
     public PeopleUpdloading(String nameFile) throws OasisUserException {
@@ -35,16 +37,18 @@ public class PeopleUpdloading {
             OasisExceptionShieldingHandler.executeWithShield(() ->{
 
                 List<String> fileLines = Files.readAllLines(Path.of(nameFile)); 
+                EntityDirectory.PEOPLE.reserve(fileLines); // as for animals
 
-                for(String line:fileLines){
-                  processPersonLine(line.trim());
+                for(int i=0; i<fileLines.size(); i++){
+                  processPersonLine(fileLines.get(i).trim(), i+1);
                 }
 
-                System.out.println("Successfully loaded "+peopleList.size()+" people");
+                System.out.println("Successfully loaded "+peopleList.size()+" people, "+canonicalizer.summary());
             },"people uploading");
     }
     //it processed a single line of person data and return an object
-    private void processPersonLine(String line){
+    //as for animals, records saved without id take their line number
+    private void processPersonLine(String line, int lineNumber){
 
         if(line.isEmpty()){
              return;
@@ -57,18 +61,18 @@ public class PeopleUpdloading {
                 String sex = parts[1];
                 String name = parts[2];
                 String surname = parts[3];
-                String birthDate = parts[4];
-                String profession = parts[5];
-                String roleString = parts[6];
-
+                String birthDate = canonicalizer.canonical(parts[4]);
+                String profession = parts[5]; // interned as a code by Admin
+                String roleString = parts[6]; // turned into a Role, nothing retained
                 try {
+                    int id = matcher.group(8) != null ? EntityDirectory.parseId(matcher.group(8)) : lineNumber;
                     if("Admin".equals(personType)) {
 
-                        createAdminPerson(sex, name, surname, birthDate, profession, roleString);
+                        createAdminPerson(id, sex, name, surname, birthDate, profession, roleString);
 
                     } else if("Donor".equals(personType)&&"DONOR".equals(roleString)){
 
-                        createDonorPerson(sex,name,surname,birthDate);
+                        createDonorPerson(id, sex,name,surname,birthDate);
                     }
 
                     } catch(Exception e){
@@ -83,19 +87,19 @@ public class PeopleUpdloading {
 
             //method to create admin person with his appropriate role
 
-            private void createAdminPerson(String sex, String name, String surname, String birthdate, String profession, String roleString) throws PersonCreationException{
+            private void createAdminPerson(int id, String sex, String name, String surname, String birthdate, String profession, String roleString) throws PersonCreationException{
 
                 Role role=Role.valueOf(roleString);
-                Admin admin = loadFromFile(sex, name, surname, birthdate, profession, role); // admin creation from an uploadin gno need to save again
+                Admin admin = loadFromFile(id, sex, name, surname, birthdate, profession, role); // admin creation from an uploadin gno need to save again
                 peopleList.add(admin);
             }
                 
 
             //method to create donor person 
 
-            private void createDonorPerson(String sex, String name, String surname, String birthdate) throws PersonCreationException{
+            private void createDonorPerson(int id, String sex, String name, String surname, String birthdate) throws PersonCreationException{
 
-                Donor donor = loadFromFile(sex, name, surname, birthdate, Role.DONOR); //polymorphism
+                Donor donor = loadFromFile(id, sex, name, surname, birthdate, Role.DONOR); //polymorphism
                 peopleList.add(donor);
             }
             
@@ -1,11 +1,15 @@
 package organizer.datamanagement;
 
 import java.util.Set;
-import java.util.TreeSet;
 
+//profession registry shared by all staff members, same structure of SpeciesSet
 public class ProfessionalSet {
 
-    public static Set<String> professions = new TreeSet<String>();
-   //i use treeset to have an alphabetic order
+    public static final CodeRegistry registry = new CodeRegistry();
+
+    // alphabetic list of professions that at least one staff member has
+    public static Set<String> names() {
+        return registry.liveKeys();
+    }
 
 }
@@ -0,0 +1,36 @@
+package organizer.datamanagement;
+
+import java.time.LocalDate;
+
+import organizer.activities.Visit;
+
+/*
+When a visit leaves the working set of VisitManagement: its date is more than pastDays days ago,
+or it was cancelled more than cancelledDays days ago
+ */
+public record RetentionPolicy(int pastDays, int cancelledDays) {
+
+    public RetentionPolicy {
+        if (pastDays < 0 || cancelledDays < 0) {
+            throw new IllegalArgumentException("Retention days cannot be negative");
+        }
+    }
+
+    // past visits kept one month, cancelled ones one week
+    public static RetentionPolicy standard() {
+        return new RetentionPolicy(30, 7);
+    }
+
+    // first epoch day still kept: every visit of an earlier day is archived
+    public long firstKeptDay(LocalDate today) {
+        return today.toEpochDay() - pastDays;
+    }
+
+    public boolean shouldArchive(Visit visit, LocalDate today) {
+        if (visit.getEpochDay() < today.toEpochDay() - pastDays) {
+            return true;
+        }
+        LocalDate cancelledOn = visit.getCancelledOn();
+        return cancelledOn != null && cancelledOn.toEpochDay() < today.toEpochDay() - cancelledDays;
+    }
+}
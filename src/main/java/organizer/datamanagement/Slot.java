@@ -0,0 +1,40 @@
+package organizer.datamanagement;
+
+import java.time.LocalDate;
+
+import organizer.activities.PeriodTime;
+
+/*
+A bookable slot with the places still free when it was read. The date is kept as epoch day so slots
+can be compared and sorted as numbers, the text is only built when the slot is rendered
+ */
+public record Slot(long epochDay, PeriodTime period, int remaining) {
+
+    public Slot {
+        if (period == null) {
+            throw new IllegalArgumentException("PeriodTime cannot be null");
+        }
+        if (remaining < 0) {
+            throw new IllegalArgumentException("Remaining capacity cannot be negative");
+        }
+    }
+
+    // dense number of a (day, period) slot, used as map key and array index
+    public static long key(long epochDay, PeriodTime period) {
+        return epochDay * PeriodTime.values().length + period.ordinal();
+    }
+
+    public LocalDate date() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    // same text the availability screens always printed, e.g. "2025-01-15 Morning (10 spaces available)"
+    public String render() {
+        return date() + " " + period + " (" + remaining + " spaces available)";
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+}
@@ -0,0 +1,174 @@
+package organizer.datamanagement;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import organizer.activities.PeriodTime;
+
+/*
+Capacity of every visit slot. Rules (default capacity, capacity per period, capacity of a given date,
+closed weekdays and closed dates) are compiled into an int table covering the next horizonDays days,
+indexed by (day - firstDay) * periods + period, so booking and availability read one array cell.
+Dates outside the table are answered from the rules. Every rule change recompiles the table
+ */
+public class SlotCalendar {
+
+    public static final int DEFAULT_CAPACITY = 10;
+    public static final int DEFAULT_HORIZON_DAYS = 366;
+
+    private static final PeriodTime[] PERIODS = PeriodTime.values();
+
+    // compiled capacities, replaced as a whole so readers never see a half built table
+    private static final class Table {
+        final long firstDay;
+        final int[] capacities;
+
+        Table(long firstDay, int[] capacities) {
+            this.firstDay = firstDay;
+            this.capacities = capacities;
+        }
+    }
+
+    private final int horizonDays;
+    private int defaultCapacity = DEFAULT_CAPACITY;
+    private final Map<PeriodTime, Integer> periodCapacities = new EnumMap<>(PeriodTime.class);
+    private final Map<Long, Integer> dateCapacities = new HashMap<>(); // slot key -> capacity
+    private final Set<DayOfWeek> closedWeekdays = EnumSet.noneOf(DayOfWeek.class);
+    private final Set<Long> closedDays = new HashSet<>();
+    private volatile Table table;
+    private volatile long version;       // incremented by every compile, lets derived tables see a change
+
+    public SlotCalendar(int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Horizon must be at least one day");
+        }
+        this.horizonDays = horizonDays;
+        compile();
+    }
+
+    // Morning and Afternoon with DEFAULT_CAPACITY places, the Evening period stays closed until configured
+    public static SlotCalendar standard() {
+        return new SlotCalendar(DEFAULT_HORIZON_DAYS).periodCapacity(PeriodTime.Evening, 0);
+    }
+
+    // rules, each one recompiles the table
+
+    public synchronized SlotCalendar defaultCapacity(int capacity) {
+        this.defaultCapacity = checkCapacity(capacity);
+        compile();
+        return this;
+    }
+
+    public synchronized SlotCalendar periodCapacity(PeriodTime period, int capacity) {
+        periodCapacities.put(checkPeriod(period), checkCapacity(capacity));
+        compile();
+        return this;
+    }
+
+    public synchronized SlotCalendar dateCapacity(LocalDate date, PeriodTime period, int capacity) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        dateCapacities.put(Slot.key(date.toEpochDay(), checkPeriod(period)), checkCapacity(capacity));
+        compile();
+        return this;
+    }
+
+    public synchronized SlotCalendar closeWeekday(DayOfWeek weekday) {
+        if (weekday == null) {
+            throw new IllegalArgumentException("Weekday cannot be null");
+        }
+        closedWeekdays.add(weekday);
+        compile();
+        return this;
+    }
+
+    public synchronized SlotCalendar closeDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        closedDays.add(date.toEpochDay());
+        compile();
+        return this;
+    }
+
+    public synchronized SlotCalendar reopenDate(LocalDate date) {
+        if (date != null && closedDays.remove(date.toEpochDay())) {
+            compile();
+        }
+        return this;
+    }
+
+    // lookups
+
+    public int capacity(long epochDay, PeriodTime period) {
+        Table current = table;
+        long offset = epochDay - current.firstDay;
+        if (offset >= 0 && offset < horizonDays) {
+            return current.capacities[(int) offset * PERIODS.length + period.ordinal()];
+        }
+        synchronized (this) {
+            return evaluate(epochDay, period); // outside the compiled horizon
+        }
+    }
+
+    public boolean isOpen(long epochDay, PeriodTime period) {
+        return capacity(epochDay, period) > 0;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    // moves the table start to today, called when the day changes
+    public synchronized void rollForward() {
+        if (table.firstDay != LocalDate.now().toEpochDay()) {
+            compile();
+        }
+    }
+
+    // caller holds the lock
+    private void compile() {
+        long firstDay = LocalDate.now().toEpochDay();
+        int[] capacities = new int[horizonDays * PERIODS.length];
+        for (int d = 0; d < horizonDays; d++) {
+            for (PeriodTime period : PERIODS) {
+                capacities[d * PERIODS.length + period.ordinal()] = evaluate(firstDay + d, period);
+            }
+        }
+        table = new Table(firstDay, capacities);
+        version++;
+    }
+
+    // caller holds the lock; closures win over capacities, a date rule wins over a period rule
+    private int evaluate(long epochDay, PeriodTime period) {
+        if (closedDays.contains(epochDay) || closedWeekdays.contains(LocalDate.ofEpochDay(epochDay).getDayOfWeek())) {
+            return 0;
+        }
+        Integer byDate = dateCapacities.get(Slot.key(epochDay, period));
+        if (byDate != null) {
+            return byDate;
+        }
+        return periodCapacities.getOrDefault(period, defaultCapacity);
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        return capacity;
+    }
+
+    private static PeriodTime checkPeriod(PeriodTime period) {
+        if (period == null) {
+            throw new IllegalArgumentException("PeriodTime cannot be null");
+        }
+        return period;
+    }
+}
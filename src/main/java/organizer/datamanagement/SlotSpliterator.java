@@ -0,0 +1,73 @@
+package organizer.datamanagement;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import organizer.activities.PeriodTime;
+
+/*
+Walks the slots of a range of days (both ends included) returning those with free places, in date
+and period order. Each step asks the availability heatmap for the next slot with a free place, so
+fully booked stretches are skipped without visiting their slots, no string is built.
+The day range can be split in halves, so availability over a long horizon can be scanned in parallel
+ */
+class SlotSpliterator implements Spliterator<Slot> {
+
+    private static final PeriodTime[] PERIODS = PeriodTime.values();
+
+    private final VisitManagement visitManager;
+    private long day;               // current epoch day
+    private final long lastDay;
+    private int periodIndex;
+
+    SlotSpliterator(VisitManagement visitManager, long firstDay, long lastDay) {
+        this.visitManager = visitManager;
+        this.day = firstDay;
+        this.lastDay = lastDay;
+        this.periodIndex = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Slot> action) {
+        Slot slot = day <= lastDay ? visitManager.findSlot(day, periodIndex, lastDay, 1) : null;
+        if (slot == null) {
+            day = lastDay + 1;
+            periodIndex = 0;
+            return false;
+        }
+        day = slot.epochDay();
+        periodIndex = slot.period().ordinal() + 1;
+        if (periodIndex == PERIODS.length) {
+            day++;
+            periodIndex = 0;
+        }
+        action.accept(slot);
+        return true;
+    }
+
+    // splits on whole days only, the prefix goes to the new spliterator
+    @Override
+    public Spliterator<Slot> trySplit() {
+        if (periodIndex != 0) {
+            return null;
+        }
+        long days = lastDay - day + 1;
+        if (days < 2) {
+            return null;
+        }
+        long middle = day + days / 2;
+        SlotSpliterator prefix = new SlotSpliterator(visitManager, day, middle - 1);
+        day = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return day > lastDay ? 0 : (lastDay - day + 1) * PERIODS.length - periodIndex;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL;
+    }
+}
@@ -1,11 +1,15 @@
 package organizer.datamanagement;
 
 import java.util.Set;
-import java.util.TreeSet;
 
+//species registry shared by all animals: each species is interned to an int code with a live count
 public class SpeciesSet {
 
-    public static Set<String> specieSet = new TreeSet<String>();
-    
+    public static final CodeRegistry registry = new CodeRegistry();
+
+    // alphabetic list of species that at least one animal belongs to
+    public static Set<String> names() {
+        return registry.liveKeys();
+    }
 
 }
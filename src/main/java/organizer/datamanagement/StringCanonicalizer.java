@@ -0,0 +1,60 @@
+package organizer.datamanagement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Load-time canonicalization of the birth dates of people loads (sex is stored as a constant and
+profession as a registry code, so they are not passed here).
+Animal loads do not use it: an animal keeps a constant sex, a species code and its own name,
+so there is nothing repeated left to share.
+Equal values parsed from different lines of one load are replaced by one shared instance.
+Each load uses its own instance: the pool lives as long as the load, so it is bounded by the file
+and the savings reported are the copies this load did not retain
+ */
+public class StringCanonicalizer {
+
+    private final Map<String, String> pool = new ConcurrentHashMap<>();
+
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    // returns the shared instance equal to value, counting the copy that is not retained
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = pool.putIfAbsent(value, value);
+        if (shared == null) {
+            return value;
+        }
+        if (shared != value) {
+            duplicates.increment();
+            bytesSaved.add(estimateSize(value));
+        }
+        return shared;
+    }
+
+    // approximate retained size of a compact (latin1) string: object header and fields + byte array, 8 byte aligned
+    static long estimateSize(String value) {
+        return 24 + align(16 + value.length());
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    // short text appended to load summaries
+    public String summary() {
+        return getDuplicates() + " duplicate values shared (~" + getBytesSaved() + " bytes saved)";
+    }
+}
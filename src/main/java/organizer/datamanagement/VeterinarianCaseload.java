@@ -0,0 +1,70 @@
+package organizer.datamanagement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import organizer.entities.Admin;
+import organizer.entities.Animal;
+
+/*
+Secondary index veterinarian id -> ids of the animals under their care.
+Animal.setUnderMedicalCare keeps it updated on assignment, discharge and change of vet, so a
+caseload is read in O(caseload) instead of scanning the shelter. Animals are resolved through
+EntityDirectory and checked against their current vet. A reload keeps the instances of unchanged
+records; an instance replaced by a changed record is discharged by the directory
+ */
+public class VeterinarianCaseload {
+
+    // ids kept sorted, so the caseload comes out in registration order
+    private static final ConcurrentHashMap<Integer, Set<Integer>> caseloads = new ConcurrentHashMap<>();
+
+    private VeterinarianCaseload() {
+    }
+
+    public static void assign(Admin veterinarian, Animal animal) {
+        caseloads.computeIfAbsent(veterinarian.getId(), k -> new ConcurrentSkipListSet<>()).add(animal.getId());
+    }
+
+    public static void discharge(Admin veterinarian, Animal animal) {
+        // removal of the emptied set is atomic with respect to concurrent assignments
+        caseloads.computeIfPresent(veterinarian.getId(), (id, animalIds) -> {
+            animalIds.remove(animal.getId());
+            return animalIds.isEmpty() ? null : animalIds;
+        });
+    }
+
+    // ids recorded for the veterinarian, in registration order; callers holding their own instances
+    // resolve them there and check the current vet themselves
+    public static Set<Integer> caseloadIdsOf(Admin veterinarian) {
+        Set<Integer> animalIds = veterinarian == null ? null : caseloads.get(veterinarian.getId());
+        return animalIds == null ? Set.of() : Collections.unmodifiableSet(animalIds);
+    }
+
+    // animals currently treated by the veterinarian
+    public static List<Animal> caseloadOf(Admin veterinarian) {
+        List<Animal> result = new ArrayList<>();
+        if (veterinarian == null) {
+            return result;
+        }
+        Set<Integer> animalIds = caseloads.get(veterinarian.getId());
+        if (animalIds == null) {
+            return result;
+        }
+        for (int animalId : animalIds) {
+            Animal animal = EntityDirectory.ANIMALS.get(animalId);
+            Admin current = animal == null ? null : animal.getAssignedVeterinarian();
+            if (current != null && current.getId() == veterinarian.getId()) {
+                result.add(animal);
+            }
+        }
+        return result;
+    }
+
+    public static int caseloadSize(Admin veterinarian) {
+        return caseloadOf(veterinarian).size();
+    }
+}
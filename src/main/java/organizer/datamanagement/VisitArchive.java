@@ -0,0 +1,144 @@
+package organizer.datamanagement;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+Cold storage for visits removed by the retention policy. Every retention run appends one segment:
+the visits as text lines compressed with GZIP, plus the day and id ranges it covers so a query only
+decompresses the segments that can contain what it is looking for
+ */
+public class VisitArchive {
+
+    private static final class Segment {
+        final byte[] data;
+        final int count;
+        final long firstDay;
+        final long lastDay;
+        final int minId;
+        final int maxId;
+
+        Segment(byte[] data, int count, long firstDay, long lastDay, int minId, int maxId) {
+            this.data = data;
+            this.count = count;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.minId = minId;
+            this.maxId = maxId;
+        }
+    }
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    void append(List<ArchivedVisit> visits) {
+        if (visits.isEmpty()) {
+            return;
+        }
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            for (ArchivedVisit visit : visits) {
+                writer.write(visit.toLine());
+                writer.write('\n');
+                firstDay = Math.min(firstDay, visit.epochDay());
+                lastDay = Math.max(lastDay, visit.epochDay());
+                minId = Math.min(minId, visit.visitId());
+                maxId = Math.max(maxId, visit.visitId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compress archive segment", e);
+        }
+        segments.add(new Segment(bytes.toByteArray(), visits.size(), firstDay, lastDay, minId, maxId));
+    }
+
+    // queries, each one decompresses only the segments whose ranges match
+
+    public Optional<ArchivedVisit> findById(int visitId) {
+        for (Segment segment : segments) {
+            if (visitId >= segment.minId && visitId <= segment.maxId) {
+                for (ArchivedVisit visit : read(segment)) {
+                    if (visit.visitId() == visitId) {
+                        return Optional.of(visit);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<ArchivedVisit> findBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        List<ArchivedVisit> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.lastDay >= first && segment.firstDay <= last) {
+                collect(segment, v -> v.epochDay() >= first && v.epochDay() <= last, result);
+            }
+        }
+        return result;
+    }
+
+    public List<ArchivedVisit> findForDonor(int donorId) {
+        List<ArchivedVisit> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            collect(segment, v -> v.donorId() == donorId, result);
+        }
+        return result;
+    }
+
+    public int size() {
+        return segments.stream().mapToInt(s -> s.count).sum();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    // compressed bytes held by the archive
+    public long compressedBytes() {
+        return segments.stream().mapToLong(s -> s.data.length).sum();
+    }
+
+    private static void collect(Segment segment, Predicate<ArchivedVisit> filter, List<ArchivedVisit> result) {
+        for (ArchivedVisit visit : read(segment)) {
+            if (filter.test(visit)) {
+                result.add(visit);
+            }
+        }
+    }
+
+    private static List<ArchivedVisit> read(Segment segment) {
+        List<ArchivedVisit> visits = new ArrayList<>(segment.count);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(segment.data)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                visits.add(ArchivedVisit.fromLine(line));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment", e);
+        }
+        return visits;
+    }
+}
@@ -0,0 +1,138 @@
+package organizer.datamanagement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Visit id allocation. Ids are handed out from an in-memory block with an atomic increment, a new
+block is reserved by moving the high-water mark persisted in a file under an exclusive file lock
+(taken on a sibling .lock file), so processes sharing the data directory never get the same id and
+ids keep growing across restarts. The new mark is written to a temporary file and moved over the old
+one atomically: a crash leaves either the old or the new mark, never an empty file.
+Ids of a block not used before the JVM stops are simply skipped
+ */
+public class VisitIdAllocator {
+
+    public static final String DEFAULT_FILE = "Visit-ids.txt";
+    // system property overriding the file of the shared allocator (the tests point it at the build directory)
+    public static final String FILE_PROPERTY = "oasis.visitIdsFile";
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+
+    // a file lock is held by the whole JVM, allocators of the same JVM take turns on it
+    private static final Object FILE_LOCK = new Object();
+
+    private static volatile VisitIdAllocator shared;
+
+    // ids [next, end) are reserved for this process
+    private static final class Block {
+        final AtomicInteger next;
+        final int end;
+
+        Block(int first, int end) {
+            this.next = new AtomicInteger(first);
+            this.end = end;
+        }
+    }
+
+    private final Path file;
+    private final Path lockFile;
+    private final Path tempFile;
+    private final int blockSize;
+    private volatile Block current = new Block(0, 0); // empty, first call reserves a block
+
+    public VisitIdAllocator(Path file, int blockSize) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.file = file;
+        this.lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.blockSize = blockSize;
+    }
+
+    // allocator used by Visit, created on first booking
+    public static VisitIdAllocator shared() {
+        VisitIdAllocator allocator = shared;
+        if (allocator == null) {
+            synchronized (VisitIdAllocator.class) {
+                allocator = shared;
+                if (allocator == null) {
+                    allocator = new VisitIdAllocator(Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE)),
+                                                     DEFAULT_BLOCK_SIZE);
+                    shared = allocator;
+                }
+            }
+        }
+        return allocator;
+    }
+
+    public int nextId() {
+        while (true) {
+            Block block = current;
+            int id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id; // fast path, no lock
+            }
+            refill(block);
+        }
+    }
+
+    // only the first thread finding the block exhausted reserves the next one
+    private synchronized void refill(Block exhausted) {
+        if (current == exhausted) {
+            int first = reserve();
+            current = new Block(first, first + blockSize);
+        }
+    }
+
+    // moves the persisted high-water mark forward by one block and returns the first id of the block
+    private int reserve() {
+        synchronized (FILE_LOCK) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    int highWaterMark = readHighWaterMark();
+                    int newMark = Math.addExact(highWaterMark, blockSize);
+                    writeHighWaterMark(newMark);
+                    return highWaterMark + 1;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException | NumberFormatException | ArithmeticException e) {
+                throw new IllegalStateException("Cannot reserve visit ids from " + file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private int readHighWaterMark() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        String content = Files.readString(file, StandardCharsets.UTF_8).trim();
+        return content.isEmpty() ? 0 : Integer.parseInt(content);
+    }
+
+    // the new mark is on disk before it replaces the old one
+    private void writeHighWaterMark(int mark) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ByteBuffer.wrap(String.valueOf(mark).getBytes(StandardCharsets.UTF_8));
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
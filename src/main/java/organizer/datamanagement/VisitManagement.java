@@ -1,11 +1,27 @@
 package organizer.datamanagement;
 
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.Spliterators;
 import java.util.Iterator;
 
 import organizer.activities.Visit;
@@ -17,19 +33,107 @@ import organizer.exceptionmanager.OasisUserException;
 
 
 /*
-Visit management: allowing booking, modification, cancellation and availability checking
+Visit management: allowing booking, modification, cancellation and availability checking.
+It can be shared by concurrent sessions: a booking reserves its place with a CAS on the slot counter
+(no lock, so bookings on different slots do not wait for each other) and visits are kept in
+concurrent collections. Cancel and reschedule lock only the visit they change.
+The menus of every session use the shared() instance, so a place freed by one session can book a
+donor waiting from another
  */
 
 public class VisitManagement {
 
-    private final List<Visit> allVisits = new ArrayList<>();                    // All visits in the system
-    private Map<Integer, Visit> visitLookup = new HashMap<>();           // Access by  ID
-    private static final int MAX_VISITS_PER_PERIOD = 10;
+    private final Queue<Visit> allVisits = new ConcurrentLinkedQueue<>();        // All visits in the system, booking order
+    private final Map<Integer, Visit> visitLookup = new ConcurrentHashMap<>();   // Access by  ID
+    // epoch day -> active visits per PeriodTime (ordinal), each counter never goes over the slot capacity
+    private final Map<Long, AtomicIntegerArray> occupancy = new ConcurrentHashMap<>();
+    // epoch day -> visits of that day (cancelled included)
+    private final NavigableMap<Long, Queue<Visit>> visitsByDate = new ConcurrentSkipListMap<>();
+    // donor id -> visits booked by the donor (cancelled included), the donor of a visit never changes
+    private final Map<Integer, Queue<Visit>> visitsByDonor = new ConcurrentHashMap<>();
+    private final VisitWaitlist waitlist = new VisitWaitlist();                  // donors waiting for full slots
+    private final VisitArchive archive = new VisitArchive();                     // visits moved out by the retention policy
+    private final AvailabilityPublisher availability = new AvailabilityPublisher(); // slot changes pushed to subscribers
+    private final SlotCalendar calendar;                                         // capacity of each slot
+    private final AvailabilityHeatmap heatmap;                                   // remaining places over the next days
+    private final Object[] publishLocks = new Object[64];                        // striped by slot, orders its events
+
+    public static final int DEFAULT_HEATMAP_DAYS = 90;
+
+    private static volatile VisitManagement shared;
+
+    public VisitManagement() {
+        this(SlotCalendar.standard());
+    }
+
+    public VisitManagement(SlotCalendar calendar) {
+        this(calendar, DEFAULT_HEATMAP_DAYS);
+    }
+
+    public VisitManagement(SlotCalendar calendar, int heatmapDays) {
+        if (calendar == null) {
+            throw new IllegalArgumentException("Calendar cannot be null");
+        }
+        this.calendar = calendar;
+        this.heatmap = new AvailabilityHeatmap(this, calendar, heatmapDays);
+        Arrays.setAll(publishLocks, i -> new Object());
+    }
+
+    // instance shared by the menus of all sessions, created on first use
+    public static VisitManagement shared() {
+        VisitManagement manager = shared;
+        if (manager == null) {
+            synchronized (VisitManagement.class) {
+                manager = shared;
+                if (manager == null) {
+                    manager = new VisitManagement();
+                    shared = manager;
+                }
+            }
+        }
+        return manager;
+    }
+
+    // strict ISO date: four digit year and a real calendar day (no 2025-02-30 rolled to March)
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+
+    // parses a date typed by the user once, everything after works on the epoch day
+    public static long parseDate(String date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid date format! Use YYYY-MM-DD");
+        }
+        try {
+            return LocalDate.parse(date.trim(), DATE_FORMAT).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format! Use YYYY-MM-DD");
+        }
+    }
  
+    // lookups by date string answer "nothing booked" for a malformed date instead of throwing
+    private static Long queryDay(String date) {
+        try {
+            return parseDate(date);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     //books a new visit with validation and slots checking
 
     public Visit bookVisit(Donor donor, String date, PeriodTime time) 
             throws OasisUserException {
+        long epochDay;
+        try {
+            epochDay = parseDate(date); // Valid date (yyyy-mm-dd). Checks it
+        } catch (IllegalArgumentException e) {
+            throw new OasisUserException("Visit booking failed:"+e.getMessage());
+        }
+        return bookVisit(donor, epochDay, time);
+    }
+
+    public Visit bookVisit(Donor donor, long date, PeriodTime time) 
+            throws OasisUserException {
         try {
              //PeriodTime and donor cannot be null
             if (time == null) {
@@ -38,31 +142,127 @@ public class VisitManagement {
            if (donor == null) {
             throw new IllegalArgumentException("Donor cannot be null");
            }
-            // Valid date format (yyy/mm/dd). Checks it
+            // Reserves a place in the requested time slot, fails when it is full
+
+            if (!tryReserve(date, time)) {
+                throw slotUnavailable(date, time);
+            }
+
+            return registerVisit(donor, date, time);
+
+         } catch(Exception e){
+            throw new OasisUserException("Visit booking failed:"+e.getMessage());
+         }
 
-            validateDateFormat(date);
+        }
 
-            // Checks capacity for requested time slot
+    //books the visit if the slot has room, otherwise puts the donor in the slot waitlist and returns null
 
-            validateCapacityAvailable(date, time);
+    public Visit bookOrWaitlist(Donor donor, long date, PeriodTime time) throws OasisUserException {
+        try {
+            if (time == null) {
+                throw new IllegalArgumentException("PeriodTime cannot be null");
+            }
+            if (donor == null) {
+                throw new IllegalArgumentException("Donor cannot be null");
+            }
+            VisitWaitlist.Line line;
+            while (true) {
+                line = waitlist.lineFor(date, time);
+                synchronized (line) { // a place freed meanwhile is either seen here or handed to this donor
+                    if (line.isClosed()) {
+                        continue; // dropped meanwhile, take the current line of the slot
+                    }
+                    if (tryReserve(date, time)) {
+                        return registerVisit(donor, date, time);
+                    }
+                    if (!line.join(donor)) {
+                        throw new IllegalArgumentException("Already in the waitlist for this slot");
+                    }
+                    break;
+                }
+            }
+            System.out.println("Slot full, added to waitlist at position " + line.position(donor));
+            return null;
+        } catch (Exception e) {
+            throw new OasisUserException("Visit booking failed:" + e.getMessage());
+        }
+    }
 
-            //create and register the visit in our List/Map
+    //position in the waitlist of the slot (1 = next to be promoted), 0 when not waiting
+    public int getWaitlistPosition(Donor donor, long date, PeriodTime time) {
+        VisitWaitlist.Line line = waitlist.existingLine(date, time);
+        return line == null || donor == null ? 0 : line.position(donor);
+    }
 
+    public int getWaitlistSize(long date, PeriodTime time) {
+        VisitWaitlist.Line line = waitlist.existingLine(date, time);
+        return line == null ? 0 : line.size();
+    }
+
+    //create and register the visit in our collections, the place is already reserved
+
+    private Visit registerVisit(Donor donor, long date, PeriodTime time) {
+            Visit newVisit = indexVisit(donor, date, time);
+            System.out.println("Visit booked successfully:ID "+newVisit.getVisitId());
+            return newVisit;
+    }
+
+    // same as registerVisit without output, for batches
+    private Visit indexVisit(Donor donor, long date, PeriodTime time) {
             Visit newVisit = new Visit(donor, date, time);
-            allVisits.add(newVisit);
             visitLookup.put(newVisit.getVisitId(),newVisit);
+            allVisits.add(newVisit);
+            visitsByDate.computeIfAbsent(date, d -> new ConcurrentLinkedQueue<>()).add(newVisit);
+            visitsByDonor.computeIfAbsent(donor.getId(), id -> new ConcurrentLinkedQueue<>()).add(newVisit);
             if(donor.getStatusDonator().equals(Status.None)){
             donor.setStatusDonator(Status.Visitor); // person acquires Visitor status booking a visit only if he is not Adopter
             }
-            System.out.println("Visit booked successfully:ID "+newVisit.getVisitId());
 
             return newVisit;
+    }
 
-         } catch(Exception e){
-            throw new OasisUserException("Visit booking failed:"+e.getMessage());
-         }
+    //books many visits at once (group tours, imports). Requests are grouped by slot, the places of a slot are
+    //reserved with a single CAS for the whole group: either every request of the slot is booked or none.
+    //Outcomes come back in the order of the requests
 
+    public List<BookingOutcome> bookVisits(List<BookingRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
         }
+        BookingOutcome[] outcomes = new BookingOutcome[requests.size()];
+        Map<Long, List<Integer>> bySlot = new LinkedHashMap<>(); // slot key -> request positions
+
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            if (request == null || request.donor() == null || request.period() == null) {
+                outcomes[i] = BookingOutcome.failed(request, "Donor and PeriodTime are required");
+                continue;
+            }
+            bySlot.computeIfAbsent(Slot.key(request.epochDay(), request.period()), k -> new ArrayList<>()).add(i);
+        }
+
+        int booked = 0;
+        for (List<Integer> group : bySlot.values()) {
+            BookingRequest first = requests.get(group.get(0));
+            long date = first.epochDay();
+            PeriodTime time = first.period();
+            if (!tryReserve(date, time, group.size())) {
+                String reason = "Not enough places: " + group.size() + " requested, " +
+                                getRemainingCapacity(date, time) + " available";
+                group.forEach(i -> outcomes[i] = BookingOutcome.failed(requests.get(i), reason));
+                continue;
+            }
+            for (int i : group) {
+                BookingRequest request = requests.get(i);
+                outcomes[i] = BookingOutcome.booked(request, indexVisit(request.donor(), date, time));
+            }
+            booked += group.size();
+        }
+
+        System.out.println("Batch booking: " + booked + " of " + requests.size() + " visits booked");
+        return Arrays.asList(outcomes);
+    }
             
             
     
@@ -71,11 +271,42 @@ public class VisitManagement {
             throws OasisUserException {
         OasisExceptionShieldingHandler.executeWithShield(() -> {
             Visit visit = findVisitById(visitId);
-            validateDateFormat(newDate);
-            visit.reschedule(newDate, newTime);
+            moveVisit(visit, parseDate(newDate), newTime);
         }, "visit rescheduling");
       }
 
+    public void rescheduleVisit(String visitId, long newDate, PeriodTime newTime) 
+            throws OasisUserException {
+        OasisExceptionShieldingHandler.executeWithShield(() -> {
+            moveVisit(findVisitById(visitId), newDate, newTime);
+        }, "visit rescheduling");
+      }
+
+    private void moveVisit(Visit visit, long newDate, PeriodTime newTime) {
+            if (newTime == null) {
+                throw new IllegalArgumentException("PeriodTime cannot be null");
+            }
+            synchronized (visit) { // one change at a time on the same visit
+                long oldDate = visit.getEpochDay();
+                PeriodTime oldTime = visit.getTime();
+                boolean sameSlot = oldDate == newDate && oldTime == newTime;
+                // two-slot transfer without a lock on the slots: the place in the target is taken with the
+                // same CAS as a booking (never over capacity, no lost update), then the source place is given
+                // back. Between the two steps the visit holds both places, so the source can never be overbooked
+                if (!sameSlot && visit.isActive() && !tryReserve(newDate, newTime)) {
+                    throw slotUnavailable(newDate, newTime);
+                }
+                visit.reschedule(newDate, newTime); // active for sure when a place was taken, cancel waits for the visit lock
+                if (!sameSlot) {
+                    releaseOrPromote(oldDate, oldTime); // the old place may go to the waitlist
+                }
+                if (oldDate != newDate) {
+                    removeFromDateIndex(oldDate, visit);
+                    visitsByDate.computeIfAbsent(newDate, d -> new ConcurrentLinkedQueue<>()).add(visit);
+                }
+            }
+    }
+
 
     //cancel visit
 
@@ -86,7 +317,13 @@ public class VisitManagement {
             visit.getVisitor().setStatusDonator(Status.None);
             }
             
-           visit.cancel();
+           synchronized (visit) {
+               boolean wasActive = visit.isActive();
+               visit.cancel();
+               if (wasActive) {
+                   releaseOrPromote(visit.getEpochDay(), visit.getTime()); // a cancelled visit frees its place only once
+               }
+           }
         }, "Visit Cancellation");
     }
 
@@ -114,9 +351,8 @@ public class VisitManagement {
     //visits for a specific donor
     
       public List<Visit> getVisitsForDonor(Donor donor) {
-        return allVisits.stream()
-                    .filter(v -> v.getVisitor().equals(donor))
-                    .collect(Collectors.toList());
+        Queue<Visit> visits = donor == null ? null : visitsByDonor.get(donor.getId());
+        return visits == null ? new ArrayList<>() : new ArrayList<>(visits);
     }
     
    
@@ -129,47 +365,139 @@ public class VisitManagement {
     }
     
   
-    // returns all visits for a specific date
+    // returns all visits for a specific date, none for a malformed date (it matches no visit)
     public List<Visit> getVisitsForDate(String date) {
-        return allVisits.stream()
-                    .filter(v -> v.getDate().equals(date))
+        Long epochDay = queryDay(date);
+        return epochDay == null ? new ArrayList<>() : getVisitsForDate(epochDay);
+    }
+
+    public List<Visit> getVisitsForDate(long epochDay) {
+        Queue<Visit> visits = visitsByDate.get(epochDay);
+        return visits == null ? new ArrayList<>() : new ArrayList<>(visits);
+    }
+
+    // date range queries on the date index (both ends included), cancelled visits included as for a single date
+
+    public List<Visit> getVisitsBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date is after end date");
+        }
+        return flatten(visitsByDate.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values());
+    }
+
+    // from today to today + days
+    public List<Visit> getVisitsForNextDays(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Number of days cannot be negative");
+        }
+        LocalDate today = LocalDate.now();
+        return getVisitsBetween(today, today.plusDays(days));
+    }
+
+    public List<Visit> getVisitsForToday() {
+        return getVisitsForDate(LocalDate.now().toEpochDay());
+    }
+
+    // active visits from today on, in date order
+    public List<Visit> getUpcomingVisits() {
+        return flatten(visitsByDate.tailMap(LocalDate.now().toEpochDay(), true).values()).stream()
+                    .filter(Visit::isActive)
                     .collect(Collectors.toList());
     }
     
 
-    //helper method for iterator. It counts how many book visits for period in a date
+    //helper method for iterator. It returns how many active visits are booked for period in a date (occupancy table, no scan)
     public long getVisitsForDateAndPeriod(String date, PeriodTime period) {
-        return allVisits.stream()
-            .filter(v -> v.getDate().equals(date))
-            .filter(v -> v.getTime().equals(period))
-            .filter(Visit::isActive)
-            .count();
+        Long epochDay = queryDay(date);
+        return epochDay == null ? 0 : getVisitsForDateAndPeriod(epochDay, period);
+    }
+
+    public long getVisitsForDateAndPeriod(long epochDay, PeriodTime period) {
+        AtomicIntegerArray counts = occupancy.get(epochDay);
+        return counts == null || period == null ? 0 : counts.get(period.ordinal());
+    }
+
+    //places still free in the slot
+    public int getRemainingCapacity(String date, PeriodTime period) {
+        return getRemainingCapacity(parseDate(date), period);
+    }
+
+    public int getRemainingCapacity(long epochDay, PeriodTime period) {
+        int remaining = period == null ? -1 : heatmap.remaining(epochDay, period);
+        return remaining >= 0 ? remaining : computeRemaining(epochDay, period);
+    }
+
+    // from the calendar and the counters, source of the heatmap cells
+    int computeRemaining(long epochDay, PeriodTime period) {
+        return (int) Math.max(0, calendar.capacity(epochDay, period) - getVisitsForDateAndPeriod(epochDay, period));
+    }
+
+    public int getHeatmapDays() {
+        return heatmap.getHorizonDays();
     }
     
     
-    //availability checking method within specified days
+    //availability checking methods within specified days (from tomorrow to today + maxDaysAhead)
+
+    public Iterator<Slot> getAvailableSlots(int maxDaysAhead) {
+        return Spliterators.iterator(slotSpliterator(maxDaysAhead));
+    }
+
+    public Stream<Slot> availableSlots(int maxDaysAhead) {
+        return StreamSupport.stream(slotSpliterator(maxDaysAhead), false);
+    }
 
+    public Spliterator<Slot> slotSpliterator(int maxDaysAhead) {
+        long today = LocalDate.now().toEpochDay();
+        return new SlotSpliterator(this, today + 1, today + maxDaysAhead);
+    }
+
+    // earliest slot from tomorrow to the end of the heatmap horizon with room for a group, null when none
+    public Slot findEarliestSlot(int places) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        return findEarliestSlot(tomorrow, tomorrow.plusDays(heatmap.getHorizonDays() - 2), places);
+    }
+
+    public Slot findEarliestSlot(LocalDate from, LocalDate to, int places) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (places <= 0) {
+            throw new IllegalArgumentException("Number of places must be positive");
+        }
+        return heatmap.find(from.toEpochDay(), 0, to.toEpochDay(), places);
+    }
+
+    // first slot with a free place from the given date to the end of the heatmap horizon
+    public Slot nextAvailableSlot(LocalDate from) {
+        return findEarliestSlot(from, LocalDate.now().plusDays(heatmap.getHorizonDays() - 1), 1);
+    }
+
+    // used by SlotSpliterator, starts at the period with the given ordinal
+    Slot findSlot(long day, int periodIndex, long lastDay, int places) {
+        return heatmap.find(day, periodIndex, lastDay, places);
+    }
+
+    // text version of getAvailableSlots
     public Iterator<String> getAvailableSlotsIterator(int maxDaysAhead) {
-        return new AvailableSlotsIterator(this, maxDaysAhead);
+        return new AvailableSlotsIterator(getAvailableSlots(maxDaysAhead));
     }
   
     //returns list of the next n available slot (n defined by count)
 
     public List<String> getNextAvailableSlots(int count, int maxDaysAhead) {
-        List<String> availableSlots = new ArrayList<>();
-        Iterator<String> iterator = getAvailableSlotsIterator(maxDaysAhead);
-        
-        while (iterator.hasNext() && availableSlots.size() < count) {
-            availableSlots.add(iterator.next());
-        }
-        
-        return availableSlots;
+        return availableSlots(maxDaysAhead).limit(count)
+                    .map(Slot::render)
+                    .collect(Collectors.toList());
     }
     
   //checks if there are slots available in a timeframe
 
     public boolean hasAvailabilityFromTomorrow(int daysAhead) {
-        return getAvailableSlotsIterator(daysAhead).hasNext();
+        return getAvailableSlots(daysAhead).hasNext();
     }
 
     
@@ -227,27 +555,190 @@ public class VisitManagement {
         userVisits.forEach(System.out::println);
     }
     
-    //method that checks the valid format
+    // an emptied day stays in the index, removing it here could race with a booking adding to it;
+    // applyRetention drops the days before its cutoff
+    private void removeFromDateIndex(long date, Visit visit) {
+        Queue<Visit> visits = visitsByDate.get(date);
+        if (visits != null) {
+            visits.remove(visit);
+        }
+    }
 
-    private void validateDateFormat(String date) {
-        if(!date.matches("^\\d{4}-\\d{2}-\\d{2}$")){
-            throw new IllegalArgumentException("Invalid date format! Use YYYY-MM-DD");
+    private static List<Visit> flatten(Collection<Queue<Visit>> days) {
+        List<Visit> result = new ArrayList<>();
+        days.forEach(result::addAll);
+        return result;
+    }
+
+    //occupancy table maintenance, called on booking, rescheduling and cancellation
+
+    // takes a place with a CAS loop, never above capacity whatever the number of threads
+    private boolean tryReserve(long date, PeriodTime time) {
+        return tryReserve(date, time, 1);
+    }
+
+    // takes all the places at once or none of them
+    private boolean tryReserve(long date, PeriodTime time, int places) {
+        int capacity = calendar.capacity(date, time); // one array read
+        if (capacity == 0) {
+            return false;
+        }
+        AtomicIntegerArray counts = countersFor(date);
+        int index = time.ordinal();
+        while (true) {
+            int booked = counts.get(index);
+            if (booked + places > capacity) {
+                return false;
+            }
+            if (counts.compareAndSet(index, booked, booked + places)) {
+                slotChanged(date, time);
+                return true;
+            }
+        }
+    }
+
+    private void release(long date, PeriodTime time) {
+        AtomicIntegerArray counts = occupancy.get(date);
+        if (counts != null) {
+            counts.updateAndGet(time.ordinal(), booked -> booked > 0 ? booked - 1 : 0);
+            slotChanged(date, time);
+        }
+    }
+
+    // refreshes the heatmap cell and pushes the new availability of the slot, nothing is built when nobody listens.
+    // Events of one slot are published one at a time with the value read from the counter inside the lock,
+    // so the last event a subscriber gets for a slot carries its current availability
+    private void slotChanged(long date, PeriodTime time) {
+        heatmap.refresh(date, time);
+        if (availability.hasSubscribers()) {
+            synchronized (publishLocks[Math.floorMod(Long.hashCode(date) * 31 + time.ordinal(), publishLocks.length)]) {
+                availability.publish(new Slot(date, time, computeRemaining(date, time)));
+            }
         }
     }
 
-    //Check the capcity of a requested time slot
+    // publisher of availability changes, subscribers can restrict it to a date range
+    public AvailabilityPublisher getAvailabilityPublisher() {
+        return availability;
+    }
+
+    private IllegalArgumentException slotUnavailable(long date, PeriodTime time) {
+        int capacity = calendar.capacity(date, time);
+        if (capacity == 0) {
+            return new IllegalArgumentException("No visits on " + LocalDate.ofEpochDay(date) + " " + time + ": shelter closed");
+        }
+        return new IllegalArgumentException("Time slot full. Maximum "+ capacity+"visitors per period");
+    }
 
-    private void validateCapacityAvailable(String date, PeriodTime time){
+    public SlotCalendar getCalendar() {
+        return calendar;
+    }
 
-        long currentBookings = getVisitsForDateAndPeriod(date, time);
-        if(currentBookings >= MAX_VISITS_PER_PERIOD){
-            throw new IllegalArgumentException("Time slot full. Maximum "+ MAX_VISITS_PER_PERIOD+"visitors per period");
+    // a freed place goes straight to the head of the waitlist (the counter does not move), otherwise it is released
+    private void releaseOrPromote(long date, PeriodTime time) {
+        VisitWaitlist.Line line = waitlist.existingLine(date, time);
+        if (line != null) {
+            synchronized (line) {
+                Donor next = line.promote();
+                waitlist.removeIfEmpty(date, time, line); // drained lines do not stay in memory
+                if (next != null) {
+                    registerVisit(next, date, time);
+                    System.out.println("Waitlisted donor " + next.getName() + " promoted");
+                    return;
+                }
+                release(date, time);
+            }
+            return;
         }
+        release(date, time);
+        // a donor may have started waiting after the line check: give that donor the place just released
+        line = waitlist.existingLine(date, time);
+        if (line != null) {
+            synchronized (line) {
+                if (line.size() > 0 && tryReserve(date, time)) {
+                    registerVisit(line.promote(), date, time);
+                }
+                waitlist.removeIfEmpty(date, time, line);
+            }
+        }
+    }
 
+    private AtomicIntegerArray countersFor(long date) {
+        AtomicIntegerArray counts = occupancy.get(date);
+        return counts != null ? counts : occupancy.computeIfAbsent(date, d -> new AtomicIntegerArray(PeriodTime.values().length));
     }
    
     
     
+    //moves the visits selected by the policy out of the working set into a compressed archive segment.
+    //They leave every index and no longer count in their slot; they can still be read through getArchive()
+
+    public int applyRetention(RetentionPolicy policy) {
+        return applyRetention(policy, LocalDate.now());
+    }
+
+    public int applyRetention(RetentionPolicy policy, LocalDate today) {
+        if (policy == null || today == null) {
+            throw new IllegalArgumentException("Policy and date cannot be null");
+        }
+        List<ArchivedVisit> moved = new ArrayList<>();
+        Iterator<Visit> iterator = allVisits.iterator();
+        while (iterator.hasNext()) {
+            Visit visit = iterator.next();
+            synchronized (visit) {
+                if (!policy.shouldArchive(visit, today)) {
+                    continue;
+                }
+                if (visit.isActive()) {
+                    release(visit.getEpochDay(), visit.getTime()); // past slot, nobody to promote
+                }
+                iterator.remove();
+                visitLookup.remove(visit.getVisitId());
+                removeFromDateIndex(visit.getEpochDay(), visit);
+                Queue<Visit> donorVisits = visitsByDonor.get(visit.getVisitor().getId());
+                if (donorVisits != null) {
+                    donorVisits.remove(visit);
+                }
+                moved.add(ArchivedVisit.of(visit));
+            }
+        }
+        archive.append(moved);
+        dropDaysBefore(policy.firstKeptDay(today));
+        System.out.println("Retention: " + moved.size() + " visits archived, " + allVisits.size() + " kept");
+        return moved.size();
+    }
+
+    // days before the cutoff have no visit left in the working set: their emptied date queues,
+    // released counters and waitlists leave the indexes too, so the working set shrinks with the archive
+    private void dropDaysBefore(long firstKeptDay) {
+        visitsByDate.headMap(firstKeptDay).values().removeIf(Queue::isEmpty);
+        occupancy.entrySet().removeIf(day -> day.getKey() < firstKeptDay && isReleased(day.getValue()));
+        waitlist.removeBefore(firstKeptDay);
+    }
+
+    private static boolean isReleased(AtomicIntegerArray counts) {
+        for (int i = 0; i < counts.length(); i++) {
+            if (counts.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // number of days with visits or counters in the working set
+    int trackedDays() {
+        return Math.max(visitsByDate.size(), occupancy.size());
+    }
+
+    // open waitlist lines, for tests
+    int waitlistLines() {
+        return waitlist.size();
+    }
+
+    public VisitArchive getArchive() {
+        return archive;
+    }
+   
    //return all visits
     public List<Visit> getAllVisits() {
         return new ArrayList<>(allVisits);
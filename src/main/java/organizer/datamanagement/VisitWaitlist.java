@@ -0,0 +1,101 @@
+package organizer.datamanagement;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import organizer.activities.PeriodTime;
+import organizer.entities.Donor;
+
+/*
+FIFO waitlists of full slots. Every donor joining a line takes a ticket from a sequence counter and the
+line counts the donors already served, so the position of a donor is ticket - served with no walk of the
+queue. Joining and promotion run under the lock of the line (see VisitManagement), a line per slot.
+A line dropped from the map is closed under its lock: a donor who got it just before must take the
+line again (lineFor) instead of joining one nobody will promote
+ */
+class VisitWaitlist {
+
+    static final class Line {
+        private final ArrayDeque<Donor> donors = new ArrayDeque<>();
+        private final Map<Integer, Long> tickets = new ConcurrentHashMap<>(); // donor id -> ticket
+        private long nextTicket = 1;
+        private volatile long served = 0;
+        private boolean closed; // guarded by the line lock
+
+        // caller holds the line lock
+        boolean isClosed() {
+            return closed;
+        }
+
+        // caller holds the line lock
+        boolean join(Donor donor) {
+            if (tickets.containsKey(donor.getId())) {
+                return false; // already waiting for this slot
+            }
+            donors.addLast(donor);
+            tickets.put(donor.getId(), nextTicket++);
+            return true;
+        }
+
+        // caller holds the line lock, null when nobody is waiting
+        Donor promote() {
+            Donor head = donors.pollFirst();
+            if (head != null) {
+                tickets.remove(head.getId());
+                served++;
+            }
+            return head;
+        }
+
+        // 1 for the head of the line, 0 when the donor is not waiting
+        int position(Donor donor) {
+            Long ticket = tickets.get(donor.getId());
+            return ticket == null ? 0 : (int) (ticket - served);
+        }
+
+        int size() {
+            return tickets.size();
+        }
+    }
+
+    private final Map<Long, Line> lines = new ConcurrentHashMap<>();
+
+    // the line is also the lock guarding joins and promotions of its slot
+    Line lineFor(long epochDay, PeriodTime period) {
+        return lines.computeIfAbsent(Slot.key(epochDay, period), k -> new Line());
+    }
+
+    // line if somebody is waiting or waited for the slot, no allocation on the common path
+    Line existingLine(long epochDay, PeriodTime period) {
+        return lines.get(Slot.key(epochDay, period));
+    }
+
+    // caller holds the line lock: a line nobody waits in anymore leaves the map
+    void removeIfEmpty(long epochDay, PeriodTime period, Line line) {
+        if (line.size() == 0) {
+            close(Slot.key(epochDay, period), line);
+        }
+    }
+
+    // drops the lines of the days before firstKeptDay, their slots are past
+    void removeBefore(long firstKeptDay) {
+        long firstKey = Slot.key(firstKeptDay, PeriodTime.values()[0]);
+        lines.forEach((key, line) -> {
+            if (key < firstKey) {
+                close(key, line);
+            }
+        });
+    }
+
+    private void close(long key, Line line) {
+        synchronized (line) {
+            line.closed = true;
+            lines.remove(key, line);
+        }
+    }
+
+    int size() {
+        return lines.size();
+    }
+}
@@ -1,5 +1,6 @@
 package organizer.entities;
 
+import organizer.datamanagement.EntityDirectory;
 import organizer.datamanagement.ProfessionalSet;
 import organizer.exceptionmanager.*;
 import java.time.LocalDate;
@@ -8,14 +9,18 @@ import java.util.List;
 //fare enum anche per questa classe
 public class Admin extends Person {
 
-    private String profession;
+    private int professionCode; // code in ProfessionalSet registry
     private Role adminRole;
 //i create a new class that extends Person containing a new attributes, having privilege to update collections of data
    public Admin (String sex, String name,  String surname, String birthDate, String profession, Role adminRole){
-        super(sex,name, surname, birthDate);
+        this(EntityDirectory.PEOPLE.nextId(), sex, name, surname, birthDate, profession, adminRole);
+   }
+
+   // constructor used when the id is already known (record read from file)
+   public Admin (int id, String sex, String name,  String surname, String birthDate, String profession, Role adminRole){
+        super(id,sex,name, surname, birthDate);
            validateAdminRole(adminRole);
-           this.profession=profession;
-           ProfessionalSet.professions.add(profession.toLowerCase()); // i add the profession to the set 
+           this.professionCode=ProfessionalSet.registry.acquire(profession); // profession interned in the registry
            this.adminRole = adminRole;
 
           
@@ -80,12 +85,17 @@ public class Admin extends Person {
 
 
    public String getProfession() {
-    return profession;
+    return ProfessionalSet.registry.valueOf(professionCode);
+   }
+
+   public int getProfessionCode() {
+    return professionCode;
    }
 
    public void setProfession(String profession) {
-    this.profession = profession;
-    ProfessionalSet.professions.add(profession);
+    int newCode = ProfessionalSet.registry.acquire(profession);
+    ProfessionalSet.registry.release(professionCode);
+    this.professionCode = newCode;
    }
 
      public Role getAdminRole() {
@@ -96,7 +106,7 @@ private void saveToFile() {
     try {
         String roleString = adminRole == Role.VETERINARIAN ? "VETERINARIAN" : "ADMIN";
         String personData = "Admin " + getSex() + " " + getName() + " " + getSurname() + 
-                          " " + getBirthDate() + " " + profession + " " + roleString;
+                          " " + getBirthDate() + " " + getProfession() + " " + roleString + " " + getId();
         
         java.nio.file.Files.write(
             java.nio.file.Paths.get("People-list.txt"), 
@@ -119,7 +129,9 @@ private void saveToFile() {
     public static Admin createNewAdmin(String sex, String name,  String surname, String birthDate, String profession, Role adminRole) throws PersonCreationException {
 
         try {
+        EntityDirectory.PEOPLE.reserve(java.nio.file.Paths.get("People-list.txt")); // new id after every id of the file
         Admin admin = new Admin(sex, name,  surname,  birthDate,  profession, adminRole);
+        EntityDirectory.PEOPLE.register(admin);
         admin.saveAdmin(); 
         return admin;
         }catch(Exception e){
@@ -131,6 +143,18 @@ private void saveToFile() {
     public static Admin loadFromFile(String sex, String name,  String surname, String birthDate, String profession, Role adminRole) throws PersonCreationException {
         try{
         Admin admin = new Admin(sex, name,  surname,  birthDate,  profession, adminRole);
+        EntityDirectory.PEOPLE.register(admin);
+        return admin;
+        }catch(Exception e){
+            throw new PersonCreationException("Failed to create admin: "+e.getMessage(), e);
+        }
+    }
+
+    // not saving, id read from file
+    public static Admin loadFromFile(int id, String sex, String name,  String surname, String birthDate, String profession, Role adminRole) throws PersonCreationException {
+        try{
+        Admin admin = new Admin(id, sex, name,  surname,  birthDate,  profession, adminRole);
+        EntityDirectory.PEOPLE.register(admin); // replaces the instance of a previous load
         return admin;
         }catch(Exception e){
             throw new PersonCreationException("Failed to create admin: "+e.getMessage(), e);
@@ -141,7 +165,7 @@ private void saveToFile() {
     public String toString() {
         return this.getClass().getSimpleName()+
         super.toString()+
-          " , job title=" + this.profession +", Role: "+adminRole;
+          " , job title=" + getProfession() +", Role: "+adminRole;
    
 }
 
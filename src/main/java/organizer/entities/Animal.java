@@ -1,5 +1,7 @@
 package organizer.entities;
+import organizer.datamanagement.EntityDirectory;
 import organizer.datamanagement.SpeciesSet;
+import organizer.datamanagement.VeterinarianCaseload;
 import organizer.exceptionmanager.AnimalCreationException;
 import organizer.exceptionmanager.LengthException;
 import organizer.exceptionmanager.SexException;
@@ -12,7 +14,7 @@ import java.util.List;
 
 public class Animal extends Being implements ClinicalOperations {
 
-    private String species;
+    private int speciesCode; // code in SpeciesSet registry
     private boolean vaccinated = false;
     private boolean sterilized = false;
     private boolean underMedicalCare = false;
@@ -26,12 +28,16 @@ public class Animal extends Being implements ClinicalOperations {
 
 
     public Animal (String sex, String name, String species) {
+        this(EntityDirectory.ANIMALS.nextId(), sex, name, species);
+    }
+
+    // constructor used when the id is already known (record read from file)
+    public Animal (int id, String sex, String name, String species) {
         
         
-        super(sex,name);
-        this.species=species;
+        super(id,sex,name);
+        this.speciesCode=SpeciesSet.registry.acquire(species); // species interned once, shared by all animals
         this.medicalHistory = new ArrayList<>();
-        SpeciesSet.specieSet.add(species.toLowerCase()); // i use set to avoid duplicates
         
     }
     
@@ -58,8 +64,16 @@ public class Animal extends Being implements ClinicalOperations {
     
     @Override
     public void setUnderMedicalCare(boolean underCare, Admin veterinarian, String condition) {
+        Admin previous = this.currentVeterinarian;
         this.underMedicalCare = underCare;
         this.currentVeterinarian = underCare? veterinarian:null;
+        // caseload index follows assignment, discharge and change of vet
+        if (previous != null && previous != currentVeterinarian) {
+            VeterinarianCaseload.discharge(previous, this);
+        }
+        if (currentVeterinarian != null) {
+            VeterinarianCaseload.assign(currentVeterinarian, this);
+        }
         this.medicalCondition = underCare? condition:null;
         addMedicalNote("Under care: " + condition, LocalDate.now(), veterinarian);
         
@@ -96,13 +110,18 @@ public class Animal extends Being implements ClinicalOperations {
 
 
     public String getSpecies() {
-        return species;
+        return SpeciesSet.registry.valueOf(speciesCode);
+    }
+
+    public int getSpeciesCode() {
+        return speciesCode;
     }
 
 
     public void setSpecies(String species) {
-        this.species = species;
-       // SpeciesSet.species.add(species);
+        int newCode = SpeciesSet.registry.acquire(species);
+        SpeciesSet.registry.release(speciesCode);
+        this.speciesCode = newCode;
     }
 
     public LocalDate getLastVaccinationDate(){
@@ -138,7 +157,7 @@ public class Animal extends Being implements ClinicalOperations {
 
     private void saveToFile() {
     try {
-        String animalData = "Animal " + getSex() + " " + getName() + " " + species;
+        String animalData = "Animal " + getSex() + " " + getName() + " " + getSpecies() + " " + getId();
         java.nio.file.Files.write(
             java.nio.file.Paths.get("Animal-list.txt"), 
             (animalData + "\n").getBytes(), 
@@ -165,7 +184,9 @@ public class Animal extends Being implements ClinicalOperations {
       
         try{
 
+        EntityDirectory.ANIMALS.reserve(java.nio.file.Paths.get("Animal-list.txt")); // new id after every id of the file
         Animal animal = new Animal(sex, name, species);
+        EntityDirectory.ANIMALS.register(animal);
         animal.saveAnimal(); // Salva esplicitamente
         return animal;
          } catch(Exception e){
@@ -178,18 +199,41 @@ public class Animal extends Being implements ClinicalOperations {
     // not saving
     public static Animal loadFromFile(String sex, String name, String species) throws AnimalCreationException {
         try {
-        return new Animal(sex, name, species); 
+        Animal animal = new Animal(sex, name, species);
+        EntityDirectory.ANIMALS.register(animal);
+        return animal;
         }catch(Exception e){
             throw new AnimalCreationException("Failed to create animal and save"+ e.getMessage(), e );
         }
        
     }
 
+    // not saving, id read from file
+    public static Animal loadFromFile(int id, String sex, String name, String species) throws AnimalCreationException {
+        try {
+        Animal loaded = EntityDirectory.ANIMALS.get(id);
+        if (loaded != null && loaded.isRecord(sex, name, species)) {
+            return loaded; // unchanged record: the instance keeps its clinical state (vet, caseload)
+        }
+        Animal animal = new Animal(id, sex, name, species);
+        EntityDirectory.ANIMALS.register(animal); // replaces the instance of a previous load
+        return animal;
+        }catch(Exception e){
+            throw new AnimalCreationException("Failed to create animal and save"+ e.getMessage(), e );
+        }
+       
+    }
+
+
+    // true when the instance holds the data of this record, as written in the file
+    private boolean isRecord(String sex, String name, String species) {
+        return getSex().equalsIgnoreCase(sex) && getName().equals(name.trim()) && getSpecies().equals(species);
+    }
 
     public String toString() {
       
         return super.toString() +
-         ", species = " + this.species;
+         ", species = " + getSpecies();
     }
 
     
@@ -11,12 +11,32 @@ import organizer.exceptionmanager.*;
  */
 public abstract class Being {
     
+    private final int id; // stable numeric identity, persisted with the record
     private String sex;
     private String name;
-    private String registrationDate;
+    private LocalDate registrationDay; // instance shared by every entity registered the same day
 
-    public Being ( String sex, String name) {
+    // one formatted registration date for the current day instead of one string per entity
+    private static final DateTimeFormatter REGISTRATION_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static volatile RegistrationDay cachedDay;
 
+    // the day and its text published together, a reader never pairs one day with another's text
+    private static final class RegistrationDay {
+        final LocalDate day;
+        final String text;
+
+        RegistrationDay(LocalDate day) {
+            this.day = day;
+            this.text = day.format(REGISTRATION_FORMAT);
+        }
+    }
+
+    public Being (int id, String sex, String name) {
+
+        if (id <= 0) {
+            throw new IllegalArgumentException("Invalid id: " + id);
+        }
+        this.id = id;
         validateAndSetSex(sex);
         validateAndSetName(name);
         setRegistrationDate();
@@ -34,7 +54,7 @@ public abstract class Being {
         if( !sex.equalsIgnoreCase("M") && !sex.equalsIgnoreCase("F")) {
           throw new SexException("Invalid input! Sex must be F or M");
         } else {
-          this.sex = sex.toUpperCase();  
+          this.sex = sex.equalsIgnoreCase("M") ? "M" : "F"; // constants, no new string per entity
         }
 
     }
@@ -60,13 +80,21 @@ public abstract class Being {
     private void setRegistrationDate(){
 
          //I insert the registration date attribute to track when an individual is entered into the database.
-         // I do this formatting the output of now() method of LocalDate class
+         // I do this using now() method of LocalDate class, the formatted text is produced on request
 
         LocalDate today=LocalDate.now();
-        DateTimeFormatter myFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        this.registrationDate=today.format(myFormat);
+        RegistrationDay shared=cachedDay;
+        if(shared==null || !shared.day.equals(today)){
+            shared=new RegistrationDay(today);
+            cachedDay=shared;
+        }
+        this.registrationDay=shared.day;
 
     }
+    public int getId() {
+        return id;
+    }
+
      public String getName() {
         return name;
     }
@@ -86,12 +114,17 @@ public abstract class Being {
     }
     
     public String getRegistrationDate() {
-        return registrationDate;
+        RegistrationDay shared=cachedDay;
+        return shared!=null && shared.day.equals(registrationDay) ? shared.text : registrationDay.format(REGISTRATION_FORMAT);
+    }
+
+    public LocalDate getRegistrationDay() {
+        return registrationDay;
     }
 
     @Override
     public String toString() {
-        return " Registration Date= "+registrationDate+", sex= "+sex+ ", Name= " + name;
+        return " Registration Date= "+getRegistrationDate()+", sex= "+sex+ ", Name= " + name;
     }
 
     
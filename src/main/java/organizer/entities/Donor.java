@@ -1,6 +1,7 @@
 package organizer.entities;
 
 import  organizer.entities.Status;
+import organizer.datamanagement.EntityDirectory;
 import organizer.exceptionmanager.PersonCreationException;
 import organizer.entities.Role;
 
@@ -13,8 +14,13 @@ public class Donor extends Person {
     private Role role;
 
      public Donor (String sex, String name, String surname, String birthDate, Role role ){
+        this(EntityDirectory.PEOPLE.nextId(), sex, name, surname, birthDate, role);
+     }
+
+     // constructor used when the id is already known (record read from file)
+     public Donor (int id, String sex, String name, String surname, String birthDate, Role role ){
 
-        super(sex, name, surname, birthDate);
+        super(id, sex, name, surname, birthDate);
 
          if (role!=Role.DONOR){
             throw new IllegalArgumentException("Donor must have DONOR role");
@@ -48,7 +54,7 @@ public class Donor extends Person {
     private void saveToFile() {
     try {
         String personData = "Donor " + getSex() + " " + getName() + " " + getSurname() + 
-                          " " + getBirthDate() + " " + "Donator" + " " + "DONOR";
+                          " " + getBirthDate() + " " + "Donator" + " " + "DONOR" + " " + getId();
         
         java.nio.file.Files.write(
             java.nio.file.Paths.get("People-list.txt"), 
@@ -71,7 +77,9 @@ public class Donor extends Person {
     // saving
     public static Donor createNewDonor (String sex, String name, String surname, String birthDate, Role role) throws PersonCreationException {
         try{
+        EntityDirectory.PEOPLE.reserve(java.nio.file.Paths.get("People-list.txt")); // new id after every id of the file
         Donor donor = new Donor(sex, name,  surname,  birthDate, role);
+        EntityDirectory.PEOPLE.register(donor);
         donor.saveDonor(); 
         return donor;
         }catch(Exception e){
@@ -84,6 +92,19 @@ public class Donor extends Person {
 
         try{
         Donor donor = new Donor(sex, name,  surname,  birthDate, role);
+        EntityDirectory.PEOPLE.register(donor);
+        return donor;
+        }catch (Exception e){
+            throw new PersonCreationException("Failure in creatind donor: "+e.getMessage(), e);
+        }
+    }
+
+    // not saving, id read from file
+    public static Donor loadFromFile(int id, String sex, String name, String surname, String birthDate, Role role) throws PersonCreationException {
+
+        try{
+        Donor donor = new Donor(id, sex, name,  surname,  birthDate, role);
+        EntityDirectory.PEOPLE.register(donor); // replaces the instance of a previous load
         return donor;
         }catch (Exception e){
             throw new PersonCreationException("Failure in creatind donor: "+e.getMessage(), e);
@@ -27,8 +27,8 @@ public abstract class Person extends Being {
     private static final Pattern DATE_PATTERN=Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})");
     private static final Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9._%-]+@[a-zA-Z0-9.-]+.[a-zA-Z]{2,4}");
 
-    public Person (String sex, String name, String surname, String birthDate){
-        super(sex, name);
+    public Person (int id, String sex, String name, String surname, String birthDate){
+        super(id, sex, name);
 
         validateAndSetSurname(surname);
         validateAndSetBirthDate(birthDate);
@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import organizer.datamanagement.AnimalQuery;
 import organizer.entities.Admin;
 import organizer.entities.Animal;
 
@@ -263,9 +264,9 @@ public class AnimalGroup implements AnimalComponent {
         List<Animal> allAnimals = getAllAnimals();
         long totalCount = allAnimals.size();
         
-        long vaccinatedCount = allAnimals.stream().mapToLong(a -> a.isVaccinated() ? 1 : 0).sum();
-        long sterilizedCount = allAnimals.stream().mapToLong(a -> a.isSterilized() ? 1 : 0).sum();
-        long underCareCount = allAnimals.stream().mapToLong(a -> a.isUnderMedicalCare() ? 1 : 0).sum();
+        long vaccinatedCount = AnimalQuery.all().vaccinated(true).count(allAnimals);
+        long sterilizedCount = AnimalQuery.all().sterilized(true).count(allAnimals);
+        long underCareCount = AnimalQuery.all().underMedicalCare(true).count(allAnimals);
         
         System.out.println("Health Statistics:");
         System.out.println("  Vaccinated: " + vaccinatedCount + "/" + totalCount);
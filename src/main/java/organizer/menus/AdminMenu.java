@@ -10,6 +10,7 @@ import organizer.entities.Role;
 import organizer.services.DataService;
 import organizer.datamanagement.VisitManagement;
 import organizer.activities.Visit;
+import organizer.clients.ShelterClient;
 import organizer.exceptionmanager.*;
 
 // Menu for admin users with data management and administration features
@@ -26,7 +27,7 @@ public class AdminMenu implements Menu {
     public AdminMenu(Admin admin) {
         this.admin = admin;
         this.dataService = new DataService();
-        this.visitManager = new VisitManagement();
+        this.visitManager = VisitManagement.shared(); // same bookings and waitlist for every session
         this.scanner = new Scanner(System.in);
         this.sessionActive = true;
     }
@@ -166,7 +167,13 @@ public class AdminMenu implements Menu {
 
         // Create and save new animal
         Animal newAnimal = Animal.createNewAnimal(sex, name, species);
+        ShelterClient.shared().addAnimal(newAnimal); // adoptable right away, adoptions in memory are kept
         System.out.println("Animal added successfully: " + newAnimal.getName());
+        onAnimalAdded(newAnimal);
+    }
+
+    // Hook for subclasses keeping animals in memory (no-op for plain admins)
+    protected void onAnimalAdded(Animal animal) {
     }
 
     // Adds a new staff member to the system
@@ -1,5 +1,6 @@
 package organizer.menus;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import organizer.entities.Donor;
@@ -21,8 +22,8 @@ public class ExternalUserMenu implements Menu {
     // Constructor initializes all components
     public ExternalUserMenu(Donor donor) {
         this.donor = donor;
-        this.visitManager = new VisitManagement();
-        this.shelterClient = new ShelterClient();
+        this.visitManager = VisitManagement.shared(); // same bookings and waitlist for every session
+        this.shelterClient = ShelterClient.shared();
         this.scanner = new Scanner(System.in);
         this.sessionActive = true;
     }
@@ -89,27 +90,30 @@ public class ExternalUserMenu implements Menu {
         System.out.print("Enter visit date (YYYY-MM-DD): ");
         String date = scanner.nextLine().trim();
         
-        // Validate date format
-        if (!date.matches("\\d{4}-\\d{2}-\\d{2}")) {
-            throw new IllegalArgumentException("Invalid date format. Use YYYY-MM-DD");
-        }
+        // Validate date once, the visit keeps the parsed day
+        long day = VisitManagement.parseDate(date);
         
-        // Get time period selection
+        // Get time period selection among the periods open that day
         System.out.println("Select time period:");
-        System.out.println("1. Morning");
-        System.out.println("2. Afternoon");
-        System.out.print("Choose: ");
-        
-        int timeChoice = Integer.parseInt(scanner.nextLine().trim());
-        if (timeChoice != 1 && timeChoice != 2) {
-            throw new IllegalArgumentException("Invalid time choice. Select 1 or 2");
+        PeriodTime period = selectPeriod(day);
+
+        // Full slot: offer the waitlist instead of failing
+        if (visitManager.getRemainingCapacity(day, period) == 0) {
+            System.out.print("This slot is full. Join the waitlist? (y/n): ");
+            if (scanner.nextLine().trim().toLowerCase().startsWith("y")) {
+                Visit visit = visitManager.bookOrWaitlist(donor, day, period);
+                if (visit != null) {
+                    System.out.println("A place was freed. Visit scheduled successfully. ID: " + visit.getVisitId());
+                } else {
+                    System.out.println("You are number " + visitManager.getWaitlistPosition(donor, day, period) +
+                                       " in the waitlist. The visit is booked automatically when a place is freed.");
+                }
+            }
+            return;
         }
-        
-        // Convert choice to enum
-        PeriodTime period = (timeChoice == 1) ? PeriodTime.Morning : PeriodTime.Afternoon;
 
         // Book the visit
-        Visit visit = visitManager.bookVisit(donor, date, period);
+        Visit visit = visitManager.bookVisit(donor, day, period);
         System.out.println("Visit scheduled successfully. ID: " + visit.getVisitId());
     }
 
@@ -148,24 +152,41 @@ public class ExternalUserMenu implements Menu {
         System.out.print("Enter new date (YYYY-MM-DD): ");
         String newDate = scanner.nextLine().trim();
         
-        // Validate new date format
-        if (!newDate.matches("\\d{4}-\\d{2}-\\d{2}")) {
-            throw new IllegalArgumentException("Invalid date format");
-        }
+        // Validate new date once
+        long newDay = VisitManagement.parseDate(newDate);
         
         // Get new time period
         System.out.println("Select new time:");
-        System.out.println("1. Morning  2. Afternoon");
-        System.out.print("Choose: ");
-        
-        int timeChoice = Integer.parseInt(scanner.nextLine().trim());
-        PeriodTime newPeriod = (timeChoice == 1) ? PeriodTime.Morning : PeriodTime.Afternoon;
+        PeriodTime newPeriod = selectPeriod(newDay);
 
         // Perform the reschedule
-        visitManager.rescheduleVisit(visitId, newDate, newPeriod);
+        visitManager.rescheduleVisit(visitId, newDay, newPeriod);
         System.out.println("Visit rescheduled successfully.");
     }
 
+    // Lists the periods the slot calendar opens on the day and reads the user's choice
+    private PeriodTime selectPeriod(long day) {
+        List<PeriodTime> open = new ArrayList<>();
+        for (PeriodTime period : PeriodTime.values()) {
+            if (visitManager.getCalendar().isOpen(day, period)) {
+                open.add(period);
+            }
+        }
+        if (open.isEmpty()) {
+            throw new IllegalArgumentException("The shelter is closed on that day");
+        }
+        for (int i = 0; i < open.size(); i++) {
+            System.out.println((i + 1) + ". " + open.get(i));
+        }
+        System.out.print("Choose: ");
+        
+        int timeChoice = Integer.parseInt(scanner.nextLine().trim());
+        if (timeChoice < 1 || timeChoice > open.size()) {
+            throw new IllegalArgumentException("Invalid time choice. Select 1 to " + open.size());
+        }
+        return open.get(timeChoice - 1);
+    }
+
     // Cancels an existing visit
     private void cancelExistingVisit() throws Exception {
         // Get visit ID to cancel
@@ -210,15 +231,15 @@ public class ExternalUserMenu implements Menu {
         System.out.println("ADOPTION PROCESS");
         System.out.println("--------------------");
         
-        // Initialize shelter system and process adoption request
-        shelterClient.initializeSystem("Animal-list.txt", "People-list.txt");
-        shelterClient.processAdoptionRequest(donor);
+        // Shelter system is loaded on first use, then process adoption request
+        shelterClient.initializeSystem(ShelterClient.DEFAULT_ANIMAL_FILE, ShelterClient.DEFAULT_PERSON_FILE);
+        shelterClient.processAdoptionRequest(donor, scanner);
     }
 
     // Shows all animals available for adoption
     private void showAvailableAnimals() throws Exception {
-        // Initialize shelter system and get available animals
-        shelterClient.initializeSystem("Animal-list.txt", "People-list.txt");
+        // Shelter system is loaded on first use, the animals are read from memory
+        shelterClient.initializeSystem(ShelterClient.DEFAULT_ANIMAL_FILE, ShelterClient.DEFAULT_PERSON_FILE);
         var animals = shelterClient.getAvailableAnimals();
         
         // Check if any animals available
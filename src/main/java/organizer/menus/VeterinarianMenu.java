@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
+import organizer.datamanagement.AnimalCatalog;
+import organizer.datamanagement.AnimalQuery;
 import organizer.entities.Admin;
 import organizer.entities.Animal;
 import organizer.groups.*;
@@ -15,6 +17,9 @@ public class VeterinarianMenu extends AdminMenu {
     
     // Current animal group for group operations
     private AnimalGroup currentGroup;
+
+    // Animals loaded once per session and queried through the catalog indexes
+    private AnimalCatalog animalCatalog;
     
     // Constructor initializes veterinarian menu
     public VeterinarianMenu(Admin veterinarian) {
@@ -49,12 +54,13 @@ public class VeterinarianMenu extends AdminMenu {
         System.out.println("REPORTS:");
         System.out.println("  10. Health Statistics");
         System.out.println("  11. Group Management");
+        System.out.println("  12. My Caseload");
         
         System.out.println();
         System.out.println("SESSION:");
-        System.out.println("  12. Logout");
+        System.out.println("  13. Logout");
         
-        System.out.print("\nSelect option (1-12): ");
+        System.out.print("\nSelect option (1-13): ");
     }
     
     // Processes veterinarian's menu choice with clinical operations
@@ -71,8 +77,9 @@ public class VeterinarianMenu extends AdminMenu {
                     case 9 -> updateHealthStatus();                         // Health status
                     case 10 -> displayHealthStatistics();                   // Health reports
                     case 11 -> manageAnimalGroups();                       // Group management
-                    case 12 -> logout();                                    // End session
-                    default -> System.out.println("Invalid option. Please select 1-12.");
+                    case 12 -> displayCaseload();                           // Animals under my care
+                    case 13 -> logout();                                    // End session
+                    default -> System.out.println("Invalid option. Please select 1-13.");
                 }
             }, "veterinarian menu operation");
             
@@ -181,9 +188,6 @@ public class VeterinarianMenu extends AdminMenu {
     
     // Creates a group containing all animals of specified species
     private AnimalGroup createGroupBySpecies() throws Exception {
-        // Load all animals
-        List<Animal> animals = dataService.loadAnimals("Animal-list.txt");
-        
         // Get species from user
         System.out.print("Enter species for group: ");
         String species = scanner.nextLine().trim();
@@ -191,13 +195,11 @@ public class VeterinarianMenu extends AdminMenu {
         // Create new group for this species
         AnimalGroup group = new AnimalGroup(species + " Group", "Species-based");
         
-        // Add all animals of specified species to group
+        // Add all animals of specified species to group (species index lookup)
         int addedCount = 0;
-        for (Animal animal : animals) {
-            if (animal.getSpecies().equalsIgnoreCase(species)) {
-                group.add(new AnimalLeaf(animal));
-                addedCount++;
-            }
+        for (Animal animal : getAnimalCatalog().find(AnimalQuery.all().species(species))) {
+            group.add(new AnimalLeaf(animal));
+            addedCount++;
         }
         
         // Check if any animals were found
@@ -213,7 +215,7 @@ public class VeterinarianMenu extends AdminMenu {
     // Creates a custom group with manually selected animals
     private AnimalGroup createCustomGroup() throws Exception {
         // Load all animals
-        List<Animal> animals = dataService.loadAnimals("Animal-list.txt");
+        List<Animal> animals = getAnimalCatalog().getAnimals();
         
         // Get group name from user
         System.out.print("Enter group name: ");
@@ -489,7 +491,8 @@ public class VeterinarianMenu extends AdminMenu {
             // Use exception shielding for statistics generation
             OasisExceptionShieldingHandler.executeWithShield(() -> {
                 // Load all animals
-                List<Animal> animals = dataService.loadAnimals("Animal-list.txt");
+                AnimalCatalog catalog = getAnimalCatalog();
+                List<Animal> animals = catalog.getAnimals();
                 
                 System.out.println();
                 System.out.println("==================================================");
@@ -500,9 +503,9 @@ public class VeterinarianMenu extends AdminMenu {
                 dataService.displayAnimalStatistics(animals);
                 
                 // Calculate veterinary-specific statistics
-                long needVaccination = animals.stream().mapToLong(a -> !a.isVaccinated() ? 1 : 0).sum();
-                long needSterilization = animals.stream().mapToLong(a -> !a.isSterilized() ? 1 : 0).sum();
-                long currentlyInCare = animals.stream().mapToLong(a -> a.isUnderMedicalCare() ? 1 : 0).sum();
+                long needVaccination = catalog.count(AnimalQuery.all().vaccinated(false));
+                long needSterilization = catalog.count(AnimalQuery.all().sterilized(false));
+                long currentlyInCare = catalog.count(AnimalQuery.all().underMedicalCare(true));
                 
                 // Display veterinary priority information
                 System.out.println();
@@ -518,6 +521,23 @@ public class VeterinarianMenu extends AdminMenu {
         }
     }
     
+    // Displays the animals currently under this veterinarian's care (caseload index, no full scan)
+    private void displayCaseload() throws Exception {
+        List<Animal> caseload = getAnimalCatalog().find(AnimalQuery.all().treatedBy(admin));
+
+        System.out.println();
+        System.out.println("CASELOAD - Dr. " + admin.getName());
+        System.out.println("------------------------------------------");
+        if (caseload.isEmpty()) {
+            System.out.println("No animals currently under your care");
+            return;
+        }
+        for (Animal animal : caseload) {
+            System.out.println("- " + animal.getName() + " (" + animal.getSpecies() + ")");
+        }
+        System.out.println("Total: " + caseload.size() + " animals");
+    }
+    
     // Manages animal groups (create, view, clear)
     private void manageAnimalGroups() {
         System.out.println();
@@ -566,18 +586,29 @@ public class VeterinarianMenu extends AdminMenu {
     // Finds animal by name in the system
     private Animal findAnimalByName(String name) {
         try {
-            // Load animals and search by name
-            List<Animal> animals = dataService.loadAnimals("Animal-list.txt");
-            return animals.stream()
-                .filter(animal -> animal.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+            return getAnimalCatalog().findFirst(AnimalQuery.all().named(name)).orElse(null);
         } catch (Exception e) {
             System.out.println("Error loading animals: " + e.getMessage());
             return null;
         }
     }
 
+    // Loads animals on first use; clinical updates then stay visible for the whole session
+    private AnimalCatalog getAnimalCatalog() throws Exception {
+        if (animalCatalog == null) {
+            animalCatalog = new AnimalCatalog(dataService.loadAnimals("Animal-list.txt"));
+        }
+        return animalCatalog;
+    }
+
+    // Keeps the session catalog aligned with animals added from the admin section
+    @Override
+    protected void onAnimalAdded(Animal animal) {
+        if (animalCatalog != null) {
+            animalCatalog.add(animal);
+        }
+    }
+
     // Logs out current veterinarian and ends session
     @Override
     public void logout() {
@@ -12,20 +12,25 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import organizer.datamanagement.AnimalQuery;
+import organizer.datamanagement.EntityDirectory;
+import organizer.datamanagement.StringCanonicalizer;
 import organizer.entities.Admin;
 import organizer.entities.Animal;
 import organizer.entities.Donor;
 import organizer.entities.Person;
 import organizer.entities.Status;
 import organizer.entities.Role;
+import organizer.exceptionmanager.AnimalCreationException;
+import organizer.exceptionmanager.PersonCreationException;
 
 public class DataService {
 
        // Regex patterns for data validation
     private static final Pattern ANIMAL_PATTERN = 
-        Pattern.compile("^Animal\\s+([FfMm])\\s+(\\w{2,20})\\s+(\\w{2,20})$");
+        Pattern.compile("^Animal\\s+([FfMm])\\s+(\\w{2,20})\\s+(\\w{2,20})(?:\\s+(\\d+))?$");
     private static final Pattern PERSON_PATTERN = 
-        Pattern.compile("^(Admin|Donor)\\s+([FfMm])\\s+(\\w+)\\s+(\\w+)\\s+(\\d{4}-\\d{2}-\\d{2})\\s+(\\w+)\\s+(VETERINARIAN|ADMIN|DONOR)$");
+        Pattern.compile("^(Admin|Donor)\\s+([FfMm])\\s+(\\w+)\\s+(\\w+)\\s+(\\d{4}-\\d{2}-\\d{2})\\s+(\\w+)\\s+(VETERINARIAN|ADMIN|DONOR)(?:\\s+(\\d+))?$");
 
     
       //Loads animals from specified file with validation and error handling.
@@ -33,6 +38,7 @@ public class DataService {
      
     public List<Animal> loadAnimals(String filename) throws Exception {
         List<String> fileLines = Files.readAllLines(Path.of(filename));
+        EntityDirectory.ANIMALS.reserve(fileLines); // ids of records saved without one are their line numbers
         List<Animal> animalList = new ArrayList<>();
         int lineNumber = 0;
         int successCount = 0;
@@ -47,7 +53,7 @@ public class DataService {
             }
             
             try {
-                Animal animal = parseAnimalLine(trimmedLine);
+                Animal animal = parseAnimalLine(trimmedLine, lineNumber);
                 if (animal != null) {
                     animalList.add(animal);
                     successCount++;
@@ -75,7 +81,9 @@ public class DataService {
   
     public List<Person> loadPersons(String filename) throws Exception {
         List<String> fileLines = Files.readAllLines(Path.of(filename));
+        EntityDirectory.PEOPLE.reserve(fileLines);
         List<Person> peopleList = new ArrayList<>();
+        StringCanonicalizer canonicalizer = new StringCanonicalizer(); // shares repeated birth dates within this load
         int lineNumber = 0;
         int successCount = 0;
         int errorCount = 0;
@@ -89,7 +97,7 @@ public class DataService {
             }
             
             try {
-                Person person = parsePersonLine(trimmedLine);
+                Person person = parsePersonLine(trimmedLine, lineNumber, canonicalizer);
                 if (person != null) {
                     peopleList.add(person);
                     successCount++;
@@ -102,7 +110,8 @@ public class DataService {
         }
 
         System.out.println("People loading completed: " + successCount + " loaded, " + 
-                          errorCount + " errors from " + fileLines.size() + " lines");
+                          errorCount + " errors from " + fileLines.size() + " lines, " +
+                          canonicalizer.summary());
         
         if (peopleList.isEmpty() && !fileLines.isEmpty()) {
             throw new Exception("No valid person data found in file: " + filename);
@@ -139,7 +148,7 @@ public class DataService {
     // Private helper methods for data parsing
 
     
-    private Animal parseAnimalLine(String line) {
+    private Animal parseAnimalLine(String line, int lineNumber) throws AnimalCreationException {
         Matcher matcher = ANIMAL_PATTERN.matcher(line);
         
         if (!matcher.find()) {
@@ -147,13 +156,20 @@ public class DataService {
         }
         
         String[] parts = line.split("\\s+");
-        return new Animal(parts[1], parts[2], parts[3]);
+        return Animal.loadFromFile(recordId(matcher.group(4), lineNumber), parts[1], parts[2], parts[3]);
+    }
+
+    /**
+     * Persisted id of a record, or its line number for records saved before ids existed.
+     */
+    private int recordId(String idGroup, int lineNumber) {
+        return idGroup != null ? EntityDirectory.parseId(idGroup) : lineNumber;
     }
 
     /**
      * Parses single line of person data into appropriate Person subclass.
      */
-    private Person parsePersonLine(String line) {
+    private Person parsePersonLine(String line, int lineNumber, StringCanonicalizer canonicalizer) throws PersonCreationException {
         Matcher matcher = PERSON_PATTERN.matcher(line);
         
         if (!matcher.find()) {
@@ -165,14 +181,15 @@ public class DataService {
         String sex = parts[1];
         String name = parts[2];
         String surname = parts[3];
-        String birthDate = parts[4];
-        String profession = parts[5];
-        String roleString = parts[6];
+        String birthDate = canonicalizer.canonical(parts[4]);
+        String profession = parts[5]; // interned as a code by Admin
+        String roleString = parts[6]; // parsed to Role, not retained
+        int id = recordId(matcher.group(8), lineNumber);
         
         if ("Admin".equals(personType)) {
-            return createAdminPerson(sex, name, surname, birthDate, profession, roleString);
+            return createAdminPerson(id, sex, name, surname, birthDate, profession, roleString);
         } else if ("Donor".equals(personType) && "DONOR".equals(roleString)) {
-            return createDonorPerson(sex, name, surname, birthDate);
+            return createDonorPerson(id, sex, name, surname, birthDate);
         } else {
             throw new IllegalArgumentException("Unsupported person type or role combination");
         }
@@ -181,17 +198,17 @@ public class DataService {
     /**
      * Creates Admin person with role validation.
      */
-    private Admin createAdminPerson(String sex, String name, String surname, 
-                                   String birthDate, String profession, String roleString) {
+    private Admin createAdminPerson(int id, String sex, String name, String surname, 
+                                   String birthDate, String profession, String roleString) throws PersonCreationException {
         Role role = Role.valueOf(roleString);
-        return new Admin(sex, name, surname, birthDate, profession, role);
+        return Admin.loadFromFile(id, sex, name, surname, birthDate, profession, role);
     }
 
     /**
      * Creates Donor person with DONOR role.
      */
-    private Donor createDonorPerson(String sex, String name, String surname, String birthDate) {
-        return new Donor(sex, name, surname, birthDate, Role.DONOR);
+    private Donor createDonorPerson(int id, String sex, String name, String surname, String birthDate) throws PersonCreationException {
+        return Donor.loadFromFile(id, sex, name, surname, birthDate, Role.DONOR);
     }
 
     // Private helper methods for adoption processing
@@ -236,20 +253,18 @@ public class DataService {
             throw new IllegalArgumentException("Species selection cannot be empty");
         }
         
-        List<Animal> matchingAnimals = availableAnimals.stream()
-                                                      .filter(animal -> animal.getSpecies().equalsIgnoreCase(selectedSpecies.trim()))
-                                                      .collect(Collectors.toList());
-        
-        if (matchingAnimals.isEmpty()) {
-            // Provide helpful information about available species
-            Set<String> availableSpecies = availableAnimals.stream()
-                                                          .map(Animal::getSpecies)
-                                                          .collect(Collectors.toSet());
-            throw new IllegalArgumentException("No animals of species '" + selectedSpecies + 
-                "' available. Available species: " + availableSpecies);
-        }
-        
-        return matchingAnimals.get(0); // Return first available animal of requested species
+        // first available animal of requested species
+        return AnimalQuery.all()
+                          .species(selectedSpecies)
+                          .findFirst(availableAnimals)
+                          .orElseThrow(() -> {
+                              // Provide helpful information about available species
+                              Set<String> availableSpecies = availableAnimals.stream()
+                                                                            .map(Animal::getSpecies)
+                                                                            .collect(Collectors.toSet());
+                              return new IllegalArgumentException("No animals of species '" + selectedSpecies +
+                                  "' available. Available species: " + availableSpecies);
+                          });
     }
 
     private void executeAdoptionTransaction(Donor donor, Animal animal, 
@@ -283,9 +298,9 @@ public class DataService {
                                                .collect(Collectors.groupingBy(Animal::getSpecies, 
                                                        Collectors.counting()));
         
-        long vaccinatedCount = animals.stream().mapToLong(a -> a.isVaccinated() ? 1 : 0).sum();
-        long sterilizedCount = animals.stream().mapToLong(a -> a.isSterilized() ? 1 : 0).sum();
-        long underCareCount = animals.stream().mapToLong(a -> a.isUnderMedicalCare() ? 1 : 0).sum();
+        long vaccinatedCount = AnimalQuery.all().vaccinated(true).count(animals);
+        long sterilizedCount = AnimalQuery.all().sterilized(true).count(animals);
+        long underCareCount = AnimalQuery.all().underMedicalCare(true).count(animals);
         
         System.out.println("\n--- Animal Statistics ---");
         System.out.println("Total animals: " + animals.size());
@@ -11,8 +11,12 @@ import organizer.entities.*;
 import organizer.exceptionmanager.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 
  //Test class for Adoption 
@@ -333,6 +337,181 @@ class AdoptionTest {
         });
     }
 
+    // PROGRAMMATIC ADOPTION TESTS
+
+    @Test
+    @DisplayName("Should adopt by species and by filter without console input")
+    void testProgrammaticAdoption() {
+        assertDoesNotThrow(() -> {
+            int initialCount = adoptionSystem.getAdoptableAnimals().size();
+
+            Animal dog = adoptionSystem.adopt(authorizedDonor, "CANE");
+            assertEquals("Rex", dog.getName());
+            Animal rabbit = adoptionSystem.adoptAny(authorizedDonor, animal -> animal.getName().equals("Bella"));
+            assertEquals("Bella", rabbit.getName());
+
+            assertEquals(initialCount - 2, adoptionSystem.getAdoptableAnimals().size());
+            assertEquals(Status.Adopter, authorizedDonor.getStatusDonator());
+            assertSame(dog, adoptionSystem.getAdoptedAnimal(dog.getId()));
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject programmatic adoptions that cannot be served")
+    void testProgrammaticAdoptionErrors() {
+        assertThrows(OasisUserException.class, () -> adoptionSystem.adopt(unauthorizedDonor, "gatto"));
+        assertThrows(OasisUserException.class, () -> adoptionSystem.adopt(authorizedDonor, "pesce"));
+        assertThrows(OasisUserException.class, () -> adoptionSystem.adoptAny(authorizedDonor, null));
+        assertThrows(OasisUserException.class, () -> adoptionSystem.adoptAny(authorizedDonor, animal -> false));
+        assertEquals(4, adoptionSystem.getAdoptableAnimals().size());
+    }
+
+    @Test
+    @DisplayName("Should give each cat to one of the donors adopting at the same time")
+    void testConcurrentProgrammaticAdoption() throws Exception {
+        List<Animal> adopted = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    adopted.add(adoptionSystem.adopt(authorizedDonor, "gatto"));
+                } catch (InterruptedException | OasisUserException e) {
+                    // no cat left
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(2, adopted.size());
+        assertNotEquals(adopted.get(0).getId(), adopted.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should read the species with the caller's scanner")
+    void testAdoptWithScanner() {
+        assertDoesNotThrow(() -> {
+            Scanner input = new Scanner("gatto\ncane\n");
+            adoptionSystem.adopt(authorizedDonor, input);
+            adoptionSystem.adopt(authorizedDonor, input); // same scanner, next line
+
+            assertEquals(2, adoptionSystem.getAnimalsAdoptedBy(authorizedDonor).size());
+            assertEquals("cane", adoptionSystem.getAdoptionMatches().get(authorizedDonor).getSpecies());
+        });
+        assertThrows(OasisUserException.class, () -> adoptionSystem.adopt(unauthorizedDonor, new Scanner("gatto\n")));
+    }
+
+    // MULTIPLE ADOPTION TESTS
+
+    @Test
+    @DisplayName("Should keep every adoption of a donor and cancel them one by one")
+    void testMultipleAdoptionsIndex() {
+        assertDoesNotThrow(() -> {
+            Animal cat = adoptionSystem.adopt(authorizedDonor, "gatto");
+            Animal dog = adoptionSystem.adopt(authorizedDonor, "cane");
+
+            assertEquals(List.of(cat, dog), adoptionSystem.getAnimalsAdoptedBy(authorizedDonor));
+            assertSame(authorizedDonor, adoptionSystem.getAdopterOf(dog));
+            assertSame(dog, adoptionSystem.getAdoptionMatches().get(authorizedDonor)); // latest adoption
+            assertEquals(2, adoptionSystem.getAdoptedAnimals().size());
+
+            // the first adoption can still be cancelled, the donor stays an adopter
+            adoptionSystem.cancelAdoption(cat, authorizedDonor);
+            assertEquals(List.of(dog), adoptionSystem.getAnimalsAdoptedBy(authorizedDonor));
+            assertNull(adoptionSystem.getAdopterOf(cat));
+            assertEquals(Status.Adopter, authorizedDonor.getStatusDonator());
+            assertThrows(OasisUserException.class, () -> adoptionSystem.cancelAdoption(cat, authorizedDonor));
+
+            adoptionSystem.cancelAdoption(dog, authorizedDonor);
+            assertTrue(adoptionSystem.getAnimalsAdoptedBy(authorizedDonor).isEmpty());
+            assertEquals(Status.None, authorizedDonor.getStatusDonator());
+            assertEquals(4, adoptionSystem.getAdoptableAnimals().size());
+        });
+    }
+
+    @Test
+    @DisplayName("Should not list an adopted animal again when it is added")
+    void testAddAdoptedAnimal() {
+        assertDoesNotThrow(() -> {
+            Animal dog = adoptionSystem.adopt(authorizedDonor, "cane");
+            assertFalse(adoptionSystem.addAnimal(dog));
+            assertThrows(OasisUserException.class, () -> adoptionSystem.adopt(authorizedDonor, "cane"));
+
+            adoptionSystem.cancelAdoption(dog, authorizedDonor);
+            assertFalse(adoptionSystem.addAnimal(dog)); // already listed again by the cancellation
+            assertSame(dog, adoptionSystem.adopt(authorizedDonor, "cane"));
+        });
+    }
+
+    // BATCH MATCHING TESTS
+
+    @Test
+    @DisplayName("Should match queued requests by waiting time and preference")
+    void testBatchMatching() {
+        assertDoesNotThrow(() -> {
+            AdoptionRequest first = adoptionSystem.requestAdoption(authorizedDonor, List.of("pesce", "gatto"));
+            AdoptionRequest second = adoptionSystem.requestAdoption(authorizedDonor, List.of("gatto", "cane"));
+            AdoptionRequest third = adoptionSystem.requestAdoption(authorizedDonor, List.of("Gatto"));
+            assertEquals(3, adoptionSystem.getPendingRequestCount());
+
+            List<AdoptionMatch> matches = adoptionSystem.runMatching();
+
+            assertEquals(2, matches.size());
+            assertSame(first, matches.get(0).request());
+            assertEquals("Luna", matches.get(0).animal().getName());
+            assertSame(second, matches.get(1).request());
+            assertEquals("Max", matches.get(1).animal().getName());
+            assertEquals(1, adoptionSystem.getPendingRequestCount());
+            assertEquals(Status.Adopter, authorizedDonor.getStatusDonator());
+
+            // the cat given back goes to the request still waiting
+            Animal max = matches.get(1).animal();
+            adoptionSystem.cancelAdoption(max, authorizedDonor);
+            List<AdoptionMatch> next = adoptionSystem.runMatching();
+            assertEquals(1, next.size());
+            assertSame(third, next.get(0).request());
+            assertSame(max, next.get(0).animal());
+            assertEquals(0, adoptionSystem.getPendingRequestCount());
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject requests of unauthorized donors or without species")
+    void testInvalidAdoptionRequests() {
+        assertThrows(OasisUserException.class, () -> adoptionSystem.requestAdoption(unauthorizedDonor, List.of("gatto")));
+        assertThrows(OasisUserException.class, () -> adoptionSystem.requestAdoption(null, List.of("gatto")));
+        assertThrows(OasisUserException.class, () -> adoptionSystem.requestAdoption(authorizedDonor, List.of()));
+        assertEquals(0, adoptionSystem.getPendingRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should match a large batch giving each animal once")
+    void testLargeBatchMatching() throws Exception {
+        StringBuilder animals = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            animals.append("Animal F Cat").append(i).append(i % 2 == 0 ? " gatto\n" : " cane\n");
+        }
+        Path bigAnimalFile = tempDir.resolve("big-animals.txt");
+        Files.writeString(bigAnimalFile, animals.toString());
+        Adoption adoption = new Adoption(bigAnimalFile.toString(), peopleFile.toString());
+        for (int i = 0; i < 20000; i++) {
+            adoption.requestAdoption(authorizedDonor, i % 3 == 0 ? List.of("cane", "gatto") : List.of("gatto"));
+        }
+
+        List<AdoptionMatch> matches = adoption.runMatching();
+
+        assertEquals(2000, matches.size());
+        assertEquals(2000, matches.stream().map(m -> m.animal().getId()).distinct().count());
+        assertEquals(18000, adoption.getPendingRequestCount());
+        assertTrue(adoption.getAdoptableAnimals().isEmpty());
+    }
+
     // GETTER TESTS
 
     @Test
@@ -0,0 +1,109 @@
+package organizer.clients;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import organizer.entities.Animal;
+import organizer.entities.Donor;
+import organizer.entities.Role;
+import organizer.exceptionmanager.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Scanner;
+
+
+ //Test class for ShelterClient
+
+class ShelterClientTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path animalFile;
+    private Path peopleFile;
+    private ShelterClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        animalFile = tempDir.resolve("test-animals.txt");
+        peopleFile = tempDir.resolve("test-people.txt");
+        Files.writeString(animalFile, "Animal F Luna gatto\nAnimal M Rex cane\n");
+        Files.writeString(peopleFile, "Donor F Maria Rossi 1985-06-15 Donator DONOR\n");
+        client = new ShelterClient();
+    }
+
+    @Test
+    @DisplayName("Should share one client")
+    void testShared() {
+        assertSame(ShelterClient.shared(), ShelterClient.shared());
+    }
+
+    @Test
+    @DisplayName("Should read the files once and reload them only on refresh or invalidation")
+    void testCachedService() {
+        assertDoesNotThrow(() -> {
+            assertFalse(client.isInitialized());
+            client.initializeSystem(animalFile.toString(), peopleFile.toString());
+            assertEquals(2, client.getAvailableAnimals().size());
+
+            Files.writeString(animalFile, "Animal F Bella coniglio\n", StandardOpenOption.APPEND);
+            client.initializeSystem(animalFile.toString(), peopleFile.toString());
+            assertEquals(2, client.getAvailableAnimals().size()); // memory read, file not parsed again
+
+            client.refresh();
+            assertEquals(3, client.getAvailableAnimals().size());
+
+            client.invalidate();
+            assertFalse(client.isInitialized());
+            client.initializeSystem(animalFile.toString(), peopleFile.toString());
+            assertTrue(client.isInitialized());
+        });
+    }
+
+    @Test
+    @DisplayName("Should add new animals and donors to the loaded service without reloading it")
+    void testAddToLoadedService() {
+        assertDoesNotThrow(() -> {
+            client.initializeSystem(animalFile.toString(), peopleFile.toString());
+            Animal added = new Animal("M", "Milo", "cane");
+            client.addAnimal(added);
+            client.addDonor(new Donor("M", "Paolo", "Verdi", "1990-03-10", Role.DONOR));
+
+            assertEquals(3, client.getAvailableAnimals().size());
+            assertTrue(client.getAvailableAnimals().contains(added));
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep the loaded service and its files when a load fails")
+    void testFailedLoadKeepsService() {
+        assertDoesNotThrow(() -> {
+            client.initializeSystem(animalFile.toString(), peopleFile.toString());
+            assertThrows(OasisUserException.class,
+                    () -> client.initializeSystem(tempDir.resolve("missing.txt").toString(), peopleFile.toString()));
+            assertEquals(2, client.getAvailableAnimals().size());
+
+            Files.writeString(animalFile, "Animal F Bella coniglio\n", StandardOpenOption.APPEND);
+            client.refresh(); // still the files of the loaded service
+            assertEquals(3, client.getAvailableAnimals().size());
+        });
+    }
+
+    @Test
+    @DisplayName("Should report a missing service instead of failing on it")
+    void testNotInitialized() {
+        assertTrue(client.getAvailableAnimals().isEmpty());
+        assertThrows(OasisUserException.class, () -> client.processAdoptionRequest(null, new Scanner("")));
+        assertDoesNotThrow(() -> client.addAnimal(new Animal("F", "Nina", "gatto")));
+    }
+
+    @Test
+    @DisplayName("Should refuse refresh before initialization")
+    void testRefreshNotInitialized() {
+        assertThrows(OasisUserException.class, () -> client.refresh());
+    }
+}
@@ -0,0 +1,118 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import organizer.entities.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+ //Test class for AdoptionPool
+
+class AdoptionPoolTest {
+
+    private Animal luna;
+    private Animal rex;
+    private Animal max;
+    private AdoptionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        luna = new Animal("F", "Luna", "gatto");
+        rex = new Animal("M", "Rex", "cane");
+        max = new Animal("M", "Max", "Gatto");
+        pool = new AdoptionPool(List.of(luna, rex, max));
+    }
+
+    // CLAIM TESTS
+
+    @Test
+    @DisplayName("Should claim animals of a species in listing order")
+    void testClaimBySpecies() {
+        assertEquals(3, pool.size());
+        assertSame(luna, pool.claim("GATTO"));
+        assertSame(max, pool.claim("gatto"));
+        assertNull(pool.claim("gatto"));
+        assertNull(pool.claim("pesce"));
+        assertEquals(List.of(rex), pool.getAnimals());
+    }
+
+    @Test
+    @DisplayName("Should skip an animal claimed by id and list it again once returned")
+    void testClaimByIdAndReturn() {
+        assertTrue(pool.claim(luna));
+        assertFalse(pool.claim(luna));
+        assertFalse(pool.isAvailable(luna));
+        assertSame(max, pool.claim("gatto"));
+
+        assertTrue(pool.offer(luna));
+        assertFalse(pool.offer(luna)); // already available
+        assertSame(luna, pool.claim("gatto"));
+        assertNull(pool.claim("gatto"));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    @DisplayName("Should keep one queue entry per animal however often it is claimed and returned")
+    void testQueueBounded() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(pool.claim(luna));
+            assertTrue(pool.offer(luna));
+            assertSame(max, pool.claimFirst(animal -> animal == max));
+            assertTrue(pool.offer(max));
+        }
+        assertEquals(2, pool.queuedEntries("gatto"));
+        assertSame(luna, pool.claim("gatto"));
+        assertSame(max, pool.claim("gatto"));
+        assertNull(pool.claim("gatto"));
+        assertEquals(0, pool.queuedEntries("gatto"));
+    }
+
+    @Test
+    @DisplayName("Should give every animal to exactly one of many concurrent adopters")
+    void testConcurrentClaims() throws Exception {
+        List<Animal> animals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            animals.add(new Animal("F", "Cat" + i, "gatto"));
+        }
+        AdoptionPool shared = new AdoptionPool(animals);
+        Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    // half of the adopters ask for a given animal, the others for any cat
+                    Animal animal = offset % 2 == 0 ? shared.claim("gatto") : animals.get((offset * 31 + i * 7) % animals.size());
+                    if (animal != null && (offset % 2 == 0 || shared.claim(animal)) && !claimed.add(animal.getId())) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(animals.size() - claimed.size(), shared.size());
+        assertEquals(shared.size(), shared.getAnimals().size());
+    }
+}
@@ -0,0 +1,150 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import organizer.entities.*;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+
+ //Test class for AnimalQuery and AnimalCatalog
+
+class AnimalQueryTest {
+
+    private Animal luna;
+    private Animal rex;
+    private Animal max;
+    private Animal bella;
+    private AnimalCatalog catalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // registered in the directory, as loaded animals are
+        luna = Animal.loadFromFile("F", "Luna", "gatto");
+        rex = Animal.loadFromFile("M", "Rex", "cane");
+        max = Animal.loadFromFile("M", "Max", "Gatto");
+        bella = Animal.loadFromFile("F", "Bella", "coniglio");
+        catalog = new AnimalCatalog(List.of(luna, rex, max, bella));
+    }
+
+    // SCAN EXECUTION TESTS
+
+    @Test
+    @DisplayName("Should filter by species ignoring case")
+    void testSpeciesFilter() {
+        List<Animal> cats = AnimalQuery.all().species("GATTO").execute(List.of(luna, rex, max, bella));
+        assertEquals(List.of(luna, max), cats);
+    }
+
+    @Test
+    @DisplayName("Should combine sex, health flags and limit")
+    void testCombinedCriteria() {
+        luna.performVaccination("Rabies", LocalDate.now());
+
+        List<Animal> result = AnimalQuery.all().sex("f").vaccinated(false).execute(catalog.getAnimals());
+        assertEquals(List.of(bella), result);
+
+        assertEquals(1, AnimalQuery.all().vaccinated(true).count(catalog.getAnimals()));
+        assertEquals(2, AnimalQuery.all().limit(2).execute(catalog.getAnimals()).size());
+    }
+
+    @Test
+    @DisplayName("Should order results before applying limit")
+    void testOrderingAndLimit() {
+        List<Animal> result = AnimalQuery.all()
+                                         .orderBy(Comparator.comparing(Animal::getName))
+                                         .limit(2)
+                                         .execute(catalog.getAnimals());
+        assertEquals(List.of(bella, luna), result);
+    }
+
+    @Test
+    @DisplayName("Should filter by registration date range")
+    void testRegistrationRange() {
+        LocalDate today = LocalDate.now();
+        assertEquals(4, AnimalQuery.all().registeredBetween(today, today).count(catalog.getAnimals()));
+        assertEquals(0, AnimalQuery.all().registeredBetween(null, today.minusDays(1)).count(catalog.getAnimals()));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            AnimalQuery.all().registeredBetween(today, today.minusDays(1));
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject empty species and negative limit")
+    void testInvalidCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> AnimalQuery.all().species(" "));
+        assertThrows(IllegalArgumentException.class, () -> AnimalQuery.all().limit(-1));
+    }
+
+    // CATALOG (INDEXED) EXECUTION TESTS
+
+    @Test
+    @DisplayName("Should answer species queries through the catalog index")
+    void testCatalogSpeciesIndex() {
+        assertEquals(List.of(luna, max), catalog.find(AnimalQuery.all().species("gatto")));
+        assertEquals(luna, catalog.findFirst(AnimalQuery.all().species("gatto")).orElse(null));
+        assertTrue(catalog.find(AnimalQuery.all().species("cavallo")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the index aligned on add and remove")
+    void testCatalogMaintenance() {
+        assertTrue(catalog.remove(luna));
+        assertFalse(catalog.remove(luna));
+        assertEquals(List.of(max), catalog.find(AnimalQuery.all().species("gatto")));
+
+        catalog.add(luna);
+        assertEquals(List.of(max, luna), catalog.find(AnimalQuery.all().species("gatto")));
+        assertEquals(4, catalog.size());
+    }
+
+    @Test
+    @DisplayName("Should follow vet assignment, change and discharge in the caseload index")
+    void testCaseloadIndex() {
+        Admin vet = new Admin("M", "Marco", "Severo", "1978-08-22", "Veterinarian", Role.VETERINARIAN);
+        Admin otherVet = new Admin("F", "Anna", "Neri", "1980-02-10", "Veterinarian", Role.VETERINARIAN);
+
+        luna.setUnderMedicalCare(true, vet, "Checkup");
+        rex.setUnderMedicalCare(true, vet, "Fracture");
+        assertEquals(List.of(luna, rex), VeterinarianCaseload.caseloadOf(vet));
+        assertEquals(List.of(rex), catalog.find(AnimalQuery.all().treatedBy(vet).species("cane")));
+
+        rex.setUnderMedicalCare(true, otherVet, "Fracture");
+        luna.setUnderMedicalCare(false, vet, "Discharged");
+        assertTrue(VeterinarianCaseload.caseloadOf(vet).isEmpty());
+        assertEquals(List.of(rex), catalog.find(AnimalQuery.all().treatedBy(otherVet)));
+    }
+
+    @Test
+    @DisplayName("Should keep the caseload across a reload and discharge animals replaced by a changed record")
+    void testCaseloadAfterReload() throws Exception {
+        Admin vet = new Admin("F", "Giulia", "Verdi", "1985-05-12", "Veterinarian", Role.VETERINARIAN);
+        Admin idleVet = new Admin("M", "Paolo", "Neri", "1979-11-02", "Veterinarian", Role.VETERINARIAN);
+        luna.setUnderMedicalCare(true, vet, "Checkup");
+
+        // unchanged record loaded again: same instance, the caseload is untouched
+        assertSame(luna, Animal.loadFromFile(luna.getId(), "F", "Luna", "gatto"));
+        assertEquals(List.of(luna), catalog.find(AnimalQuery.all().treatedBy(vet)));
+
+        // changed record: the new instance has no vet and the replaced one leaves the caseload
+        Animal renamed = Animal.loadFromFile(luna.getId(), "F", "Lunetta", "gatto");
+        assertNotSame(luna, renamed);
+        assertTrue(VeterinarianCaseload.caseloadIdsOf(vet).isEmpty());
+        assertTrue(catalog.find(AnimalQuery.all().treatedBy(vet)).isEmpty());
+
+        // a vet without patients gets an empty answer from the index
+        assertTrue(catalog.find(AnimalQuery.all().treatedBy(idleVet)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find animals by name through a scan")
+    void testCatalogNameLookup() {
+        assertEquals(rex, catalog.findFirst(AnimalQuery.all().named("rex")).orElse(null));
+        assertFalse(catalog.findFirst(AnimalQuery.all().named("Nobody")).isPresent());
+    }
+}
@@ -0,0 +1,141 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import organizer.activities.PeriodTime;
+import organizer.activities.Visit;
+import organizer.entities.Donor;
+import organizer.entities.Role;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+
+ //Test class for availability change notifications
+
+class AvailabilityPublisherTest {
+
+    private VisitManagement visitManager;
+    private Donor donor;
+    private LocalDate day;
+
+    // collects the slots received, asking one item at a time
+    private static class Collector implements Flow.Subscriber<Slot> {
+        final List<Slot> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch;
+        Flow.Subscription subscription;
+
+        Collector(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Slot slot) {
+            received.add(slot);
+            latch.countDown();
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        visitManager = new VisitManagement();
+        donor = new Donor("F", "Maria", "Rossi", "1985-06-15", Role.DONOR);
+        day = LocalDate.now().plusDays(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        visitManager.getAvailabilityPublisher().close();
+    }
+
+    @Test
+    @DisplayName("Should push remaining places on booking, reschedule and cancellation")
+    void testEvents() throws Exception {
+        Collector collector = new Collector(4);
+        visitManager.getAvailabilityPublisher().subscribe(collector);
+
+        Visit visit = visitManager.bookVisit(donor, day.toEpochDay(), PeriodTime.Morning);
+        visitManager.rescheduleVisit(String.valueOf(visit.getVisitId()), day.toEpochDay(), PeriodTime.Afternoon);
+        visitManager.cancelVisit(String.valueOf(visit.getVisitId()));
+
+        assertTrue(collector.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(new Slot(day.toEpochDay(), PeriodTime.Morning, 9), collector.received.get(0));
+        assertEquals(new Slot(day.toEpochDay(), PeriodTime.Afternoon, 9), collector.received.get(1));
+        assertEquals(new Slot(day.toEpochDay(), PeriodTime.Morning, 10), collector.received.get(2));
+        assertEquals(new Slot(day.toEpochDay(), PeriodTime.Afternoon, 10), collector.received.get(3));
+    }
+
+    @Test
+    @DisplayName("Should deliver only the slots of the subscribed date range")
+    void testRangeFilter() throws Exception {
+        Collector collector = new Collector(1);
+        visitManager.getAvailabilityPublisher().subscribe(collector, day, day);
+
+        visitManager.bookVisit(donor, day.plusDays(1).toEpochDay(), PeriodTime.Morning);
+        visitManager.bookVisit(donor, day.toEpochDay(), PeriodTime.Morning);
+
+        assertTrue(collector.latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(List.of(new Slot(day.toEpochDay(), PeriodTime.Morning, 9)), collector.received);
+    }
+
+    @Test
+    @DisplayName("Should end with the current availability when a slot changes concurrently")
+    void testConcurrentChangesOrdered() throws Exception {
+        int threads = 5;
+        int rounds = 20;
+        Collector collector = new Collector(threads * rounds * 2);
+        visitManager.getAvailabilityPublisher().subscribe(collector);
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Donor worker = new Donor("M", "Luca", "Bianchi", "1990-01-01", Role.DONOR);
+            workers[t] = new Thread(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    assertDoesNotThrow(() -> {
+                        Visit visit = visitManager.bookVisit(worker, day.toEpochDay(), PeriodTime.Morning);
+                        visitManager.cancelVisit(String.valueOf(visit.getVisitId()));
+                    });
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(collector.latch.await(5, TimeUnit.SECONDS));
+        Slot last = collector.received.get(collector.received.size() - 1);
+        assertEquals(new Slot(day.toEpochDay(), PeriodTime.Morning, 10), last);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid subscription range")
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            visitManager.getAvailabilityPublisher().subscribe(new Collector(0), day, day.minusDays(1));
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import organizer.entities.Animal;
+
+
+ //Test class for CodeRegistry (species and profession dictionaries)
+
+class CodeRegistryTest {
+
+    private CodeRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CodeRegistry();
+    }
+
+    @Test
+    @DisplayName("Should intern each value to a stable code")
+    void testInterning() {
+        int cat = registry.acquire("gatto");
+        int dog = registry.acquire("cane");
+
+        assertNotEquals(cat, dog);
+        assertEquals(cat, registry.acquire("gatto"));
+        assertEquals("gatto", registry.valueOf(cat));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    @DisplayName("Should keep live counts per key and list only used values")
+    void testLiveCounts() {
+        int cat = registry.acquire("gatto");
+        int capitalCat = registry.acquire("Gatto");
+        int dog = registry.acquire("cane");
+
+        assertNotEquals(cat, capitalCat);
+        assertEquals("Gatto", registry.valueOf(capitalCat)); // spelling kept
+        assertEquals(2, registry.liveCount(cat)); // counted together
+        assertEquals(2, registry.liveCount(capitalCat));
+        assertEquals(Set.of("cane", "gatto"), registry.liveKeys());
+
+        registry.release(capitalCat);
+        assertEquals(1, registry.liveCount(cat));
+
+        registry.release(dog);
+        registry.release(dog); // never below zero
+        assertEquals(0, registry.liveCount(dog));
+        assertEquals(Set.of("gatto"), registry.liveKeys());
+    }
+
+    @Test
+    @DisplayName("Should reject empty values and unknown codes")
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> registry.acquire(" "));
+        assertThrows(IllegalArgumentException.class, () -> registry.acquire(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.valueOf(42));
+    }
+
+    @Test
+    @DisplayName("Should assign one code per value under concurrent interning")
+    void testConcurrentInterning() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    registry.acquire("species" + (i % 50));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(50, registry.size());
+        for (int i = 0; i < 50; i++) {
+            int code = registry.codeFor("species" + i);
+            assertEquals("species" + i, registry.valueOf(code));
+            assertEquals(8 * 20, registry.liveCount(code));
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a reloaded record once and drop replaced instances")
+    void testReloadReleasesCodes() throws Exception {
+        int id = EntityDirectory.ANIMALS.getLastId() + 1000;
+        Animal.loadFromFile(id, "F", "Luna", "axolotl");
+        int code = SpeciesSet.registry.codeFor("axolotl");
+        assertEquals(1, SpeciesSet.registry.liveCount(code));
+
+        Animal.loadFromFile(id, "F", "Luna", "axolotl"); // same record loaded again
+        assertEquals(1, SpeciesSet.registry.liveCount(code));
+
+        Animal.loadFromFile(id, "F", "Luna", "tapiro"); // reloaded after a species change
+        assertEquals(0, SpeciesSet.registry.liveCount(code));
+        assertFalse(SpeciesSet.names().contains("axolotl"));
+
+        Animal.loadFromFile(id, "F", "Luna", "Axolotl"); // another spelling counts under the same key
+        assertEquals(1, SpeciesSet.registry.liveCount(code));
+        assertTrue(SpeciesSet.names().contains("axolotl"));
+    }
+}
@@ -0,0 +1,91 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import organizer.activities.PeriodTime;
+import organizer.entities.Donor;
+import organizer.entities.Role;
+import organizer.exceptionmanager.OasisUserException;
+import java.time.LocalDate;
+
+
+ //Test class for SlotCalendar (compiled slot capacities)
+
+class SlotCalendarTest {
+
+    private SlotCalendar calendar;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        calendar = SlotCalendar.standard();
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    @DisplayName("Should open Morning and Afternoon only by default")
+    void testStandardCalendar() {
+        long day = tomorrow.toEpochDay();
+        assertEquals(SlotCalendar.DEFAULT_CAPACITY, calendar.capacity(day, PeriodTime.Morning));
+        assertEquals(SlotCalendar.DEFAULT_CAPACITY, calendar.capacity(day, PeriodTime.Afternoon));
+        assertFalse(calendar.isOpen(day, PeriodTime.Evening));
+    }
+
+    @Test
+    @DisplayName("Should apply date rules over period rules and closures over both")
+    void testRulePrecedence() {
+        long day = tomorrow.toEpochDay();
+        calendar.periodCapacity(PeriodTime.Evening, 4)
+                .dateCapacity(tomorrow, PeriodTime.Morning, 25);
+
+        assertEquals(4, calendar.capacity(day, PeriodTime.Evening));
+        assertEquals(25, calendar.capacity(day, PeriodTime.Morning));
+        assertEquals(SlotCalendar.DEFAULT_CAPACITY, calendar.capacity(day + 1, PeriodTime.Morning));
+
+        calendar.closeDate(tomorrow);
+        assertEquals(0, calendar.capacity(day, PeriodTime.Morning));
+        calendar.reopenDate(tomorrow);
+        assertEquals(25, calendar.capacity(day, PeriodTime.Morning));
+
+        calendar.closeWeekday(tomorrow.getDayOfWeek());
+        assertEquals(0, calendar.capacity(day + 7, PeriodTime.Afternoon));
+    }
+
+    @Test
+    @DisplayName("Should answer dates outside the compiled horizon from the rules")
+    void testOutsideHorizon() {
+        SlotCalendar shortCalendar = new SlotCalendar(7).defaultCapacity(3);
+        long far = LocalDate.now().plusDays(100).toEpochDay();
+        assertEquals(3, shortCalendar.capacity(far, PeriodTime.Morning));
+        assertEquals(3, shortCalendar.capacity(LocalDate.now().minusDays(5).toEpochDay(), PeriodTime.Morning));
+    }
+
+    @Test
+    @DisplayName("Should drive booking capacity and availability")
+    void testBookingUsesCalendar() {
+        calendar.dateCapacity(tomorrow, PeriodTime.Morning, 1).closeDate(tomorrow.plusDays(1));
+        VisitManagement visitManager = new VisitManagement(calendar);
+        Donor donor = new Donor("F", "Maria", "Rossi", "1985-06-15", Role.DONOR);
+        long day = tomorrow.toEpochDay();
+
+        assertDoesNotThrow(() -> visitManager.bookVisit(donor, day, PeriodTime.Morning));
+        assertThrows(OasisUserException.class, () -> visitManager.bookVisit(donor, day, PeriodTime.Morning));
+        assertThrows(OasisUserException.class, () -> visitManager.bookVisit(donor, day + 1, PeriodTime.Afternoon));
+        assertThrows(OasisUserException.class, () -> visitManager.bookVisit(donor, day, PeriodTime.Evening));
+
+        // tomorrow afternoon only, the day after is closed
+        assertEquals(1, visitManager.availableSlots(2).count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rules")
+    void testInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> new SlotCalendar(0));
+        assertThrows(IllegalArgumentException.class, () -> calendar.defaultCapacity(-1));
+        assertThrows(IllegalArgumentException.class, () -> calendar.periodCapacity(null, 5));
+        assertThrows(IllegalArgumentException.class, () -> calendar.closeDate(null));
+    }
+}
@@ -0,0 +1,48 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+ //Test class for StringCanonicalizer (load-time string sharing)
+
+class StringCanonicalizerTest {
+
+    @Test
+    @DisplayName("Should return one shared instance for equal values")
+    void testSharedInstance() {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer();
+        String first = canonicalizer.canonical(new String("canonical-test-gatto"));
+        String second = canonicalizer.canonical(new String("canonical-test-gatto"));
+
+        assertSame(first, second);
+        assertEquals(1, canonicalizer.getDuplicates());
+        assertTrue(canonicalizer.getBytesSaved() > 0);
+    }
+
+    @Test
+    @DisplayName("Should not count the same instance twice and accept null")
+    void testNoFalseDuplicates() {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer();
+        String value = canonicalizer.canonical(new String("canonical-test-cane"));
+        canonicalizer.canonical(value);
+
+        assertEquals(0, canonicalizer.getDuplicates());
+        assertNull(canonicalizer.canonical(null));
+        assertTrue(canonicalizer.summary().contains("0 duplicate values"));
+    }
+
+    @Test
+    @DisplayName("Should not share values or count duplicates across separate loads")
+    void testSeparateLoads() {
+        StringCanonicalizer firstLoad = new StringCanonicalizer();
+        StringCanonicalizer secondLoad = new StringCanonicalizer();
+        String first = firstLoad.canonical(new String("01/01/1990"));
+        String second = secondLoad.canonical(new String("01/01/1990"));
+
+        assertNotSame(first, second);
+        assertEquals(0, firstLoad.getDuplicates());
+        assertEquals(0, secondLoad.getDuplicates());
+    }
+}
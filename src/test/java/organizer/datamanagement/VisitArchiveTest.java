@@ -0,0 +1,90 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import organizer.activities.PeriodTime;
+import organizer.activities.Visit;
+import organizer.entities.Donor;
+import organizer.entities.Role;
+import java.time.LocalDate;
+import java.util.List;
+
+
+ //Test class for the visit retention policy and VisitArchive
+
+class VisitArchiveTest {
+
+    private VisitManagement visitManager;
+    private Donor donor;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        visitManager = new VisitManagement();
+        donor = new Donor("F", "Maria", "Rossi", "1985-06-15", Role.DONOR);
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("Should move old and long cancelled visits to the archive")
+    void testRetention() {
+        assertDoesNotThrow(() -> {
+            Visit old = visitManager.bookVisit(donor, today.minusDays(40).toEpochDay(), PeriodTime.Morning);
+            Visit recent = visitManager.bookVisit(donor, today.minusDays(2).toEpochDay(), PeriodTime.Morning);
+            Visit upcoming = visitManager.bookVisit(donor, today.plusDays(3).toEpochDay(), PeriodTime.Morning);
+            Visit cancelled = visitManager.bookVisit(donor, today.plusDays(5).toEpochDay(), PeriodTime.Afternoon);
+            visitManager.cancelVisit(String.valueOf(cancelled.getVisitId()));
+            assertEquals(today, cancelled.getCancelledOn());
+
+            // ten days later with the standard policy: 30 days for past visits, 7 for cancelled ones
+            assertEquals(4, visitManager.trackedDays());
+            int archived = visitManager.applyRetention(RetentionPolicy.standard(), today.plusDays(10));
+
+            assertEquals(2, archived);
+            assertEquals(3, visitManager.trackedDays()); // the day of the old visit left the indexes
+            assertEquals(List.of(recent, upcoming), visitManager.getAllVisits());
+            assertEquals(List.of(recent, upcoming), visitManager.getVisitsForDonor(donor));
+            assertThrows(IllegalArgumentException.class, () -> visitManager.findVisitById(String.valueOf(old.getVisitId())));
+            assertEquals(0, visitManager.getVisitsForDateAndPeriod(old.getEpochDay(), PeriodTime.Morning));
+            assertTrue(visitManager.getVisitsForDate(old.getEpochDay()).isEmpty());
+        });
+    }
+
+    @Test
+    @DisplayName("Should answer archive queries by id, date range and donor")
+    void testArchiveQueries() {
+        assertDoesNotThrow(() -> {
+            Visit first = visitManager.bookVisit(donor, today.minusDays(60).toEpochDay(), PeriodTime.Morning);
+            visitManager.bookVisit(donor, today.minusDays(50).toEpochDay(), PeriodTime.Afternoon);
+            visitManager.applyRetention(RetentionPolicy.standard());
+            Visit second = visitManager.bookVisit(donor, today.minusDays(45).toEpochDay(), PeriodTime.Morning);
+            visitManager.applyRetention(RetentionPolicy.standard());
+
+            VisitArchive archive = visitManager.getArchive();
+            assertEquals(3, archive.size());
+            assertEquals(2, archive.segmentCount());
+            assertTrue(archive.compressedBytes() > 0);
+
+            ArchivedVisit found = archive.findById(first.getVisitId()).orElseThrow();
+            assertEquals(donor.getId(), found.donorId());
+            assertEquals(first.getLocalDate(), found.date());
+            assertEquals(PeriodTime.Morning, found.period());
+            assertFalse(found.isCancelled());
+
+            assertEquals(2, archive.findBetween(today.minusDays(55), today.minusDays(40)).size());
+            assertEquals(second.getVisitId(), archive.findBetween(today.minusDays(46), today).get(0).visitId());
+            assertEquals(3, archive.findForDonor(donor.getId()).size());
+            assertFalse(archive.findById(-1).isPresent());
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject negative retention days")
+    void testInvalidPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> new RetentionPolicy(-1, 7));
+        assertThrows(IllegalArgumentException.class, () -> visitManager.applyRetention(null));
+    }
+}
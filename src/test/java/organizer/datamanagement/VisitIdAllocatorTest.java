@@ -0,0 +1,100 @@
+package organizer.datamanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+ //Test class for VisitIdAllocator (block reservation from the persisted high-water mark)
+
+class VisitIdAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("visit-ids.txt");
+    }
+
+    @Test
+    @DisplayName("Should hand out sequential ids and persist the reserved block")
+    void testSequentialIds() throws Exception {
+        VisitIdAllocator allocator = new VisitIdAllocator(file, 4);
+
+        assertEquals(1, allocator.nextId());
+        assertEquals(2, allocator.nextId());
+        assertEquals("4", Files.readString(file).trim());
+
+        allocator.nextId();
+        allocator.nextId();
+        assertEquals(5, allocator.nextId()); // next block
+        assertEquals("8", Files.readString(file).trim());
+    }
+
+    @Test
+    @DisplayName("Should continue after the high-water mark on restart")
+    void testRestart() {
+        VisitIdAllocator first = new VisitIdAllocator(file, 10);
+        first.nextId();
+
+        VisitIdAllocator restarted = new VisitIdAllocator(file, 10);
+        assertEquals(11, restarted.nextId());
+    }
+
+    @Test
+    @DisplayName("Should never repeat ids across allocators and threads")
+    void testUniqueIds() throws Exception {
+        VisitIdAllocator processA = new VisitIdAllocator(file, 8);
+        VisitIdAllocator processB = new VisitIdAllocator(file, 8);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            VisitIdAllocator allocator = t % 2 == 0 ? processA : processB;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    assertTrue(ids.add(allocator.nextId()));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8 * 500, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should ignore a temporary file left by an interrupted reservation")
+    void testInterruptedReservation() throws Exception {
+        Files.writeString(file, "20");
+        Files.writeString(tempDir.resolve("visit-ids.txt.tmp"), ""); // crash before the move
+
+        assertEquals(21, new VisitIdAllocator(file, 10).nextId());
+        assertEquals("30", Files.readString(file).trim());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration and a corrupted file")
+    void testInvalidInput() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new VisitIdAllocator(file, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VisitIdAllocator(null, 10));
+
+        Files.writeString(file, "not a number");
+        assertThrows(IllegalStateException.class, () -> new VisitIdAllocator(file, 10).nextId());
+    }
+}
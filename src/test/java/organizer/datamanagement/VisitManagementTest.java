@@ -9,8 +9,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import organizer.entities.*;
 import organizer.activities.*;
 import organizer.exceptionmanager.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
  //Test class for VisitManagement 
@@ -97,6 +101,25 @@ class VisitManagementTest {
         });
     }
 
+    @Test
+    @DisplayName("Should reject impossible calendar dates and keep the parsed day")
+    void testCalendarDateValidation() {
+        assertThrows(OasisUserException.class, () -> {
+            visitManager.bookVisit(testDonor1, "2025-13-45", PeriodTime.Morning);
+        });
+        assertThrows(OasisUserException.class, () -> {
+            visitManager.bookVisit(testDonor1, "2025-02-29", PeriodTime.Morning); // not a leap year
+        });
+
+        assertDoesNotThrow(() -> {
+            Visit visit = visitManager.bookVisit(testDonor1, "2024-02-29", PeriodTime.Morning);
+            assertEquals(LocalDate.of(2024, 2, 29), visit.getLocalDate());
+            assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), visit.getEpochDay());
+            assertEquals("2024-02-29", visit.getDate());
+            assertEquals(1, visitManager.getVisitsForDateAndPeriod(visit.getEpochDay(), PeriodTime.Morning));
+        });
+    }
+
     @Test
     @DisplayName("Should reject invalid parameters")
     void testInvalidParametersInBooking() {
@@ -367,6 +390,24 @@ class VisitManagementTest {
         });
     }
 
+    @Test
+    @DisplayName("Should keep donor visits across reschedule, cancellation and reload of the donor")
+    void testDonorVisitIndex() {
+        assertDoesNotThrow(() -> {
+            Visit visit1 = visitManager.bookVisit(testDonor1, "2024-12-25", PeriodTime.Morning);
+            Visit visit2 = visitManager.bookVisit(testDonor1, "2024-12-26", PeriodTime.Morning);
+
+            visitManager.rescheduleVisit(String.valueOf(visit1.getVisitId()), "2024-12-27", PeriodTime.Afternoon);
+            visitManager.cancelVisit(String.valueOf(visit2.getVisitId()));
+            assertEquals(List.of(visit1, visit2), visitManager.getVisitsForDonor(testDonor1));
+
+            // same person read again from file: same id, new instance
+            Donor reloaded = new Donor(testDonor1.getId(), "F", "Maria", "Rossi", "1985-06-15", Role.DONOR);
+            assertEquals(List.of(visit1, visit2), visitManager.getVisitsForDonor(reloaded));
+            assertTrue(visitManager.getVisitsForDonor(testDonor2).isEmpty());
+        });
+    }
+
     @Test
     @DisplayName("Should get active visits only")
     void testGetActiveVisits() {
@@ -434,6 +475,28 @@ class VisitManagementTest {
         }
     }
 
+    @Test
+    @DisplayName("Should expose structured slots skipping full ones")
+    void testStructuredSlots() {
+        assertDoesNotThrow(() -> {
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            for (int i = 0; i < 10; i++) {
+                visitManager.bookVisit(testDonor1, tomorrow.toString(), PeriodTime.Morning);
+            }
+            visitManager.bookVisit(testDonor2, tomorrow.toString(), PeriodTime.Afternoon);
+
+            Slot first = visitManager.getAvailableSlots(3).next();
+            assertEquals(tomorrow, first.date());
+            assertEquals(PeriodTime.Afternoon, first.period());
+            assertEquals(9, first.remaining());
+            assertEquals(tomorrow + " Afternoon (9 spaces available)", first.render());
+
+            assertEquals(5, visitManager.availableSlots(3).count()); // 6 slots, one full
+            assertEquals(5, visitManager.availableSlots(3).parallel().count());
+            assertEquals(first.render(), visitManager.getAvailableSlotsIterator(3).next());
+        });
+    }
+
     @Test
     @DisplayName("Should check availability from tomorrow")
     void testHasAvailabilityFromTomorrow() {
@@ -461,6 +524,357 @@ class VisitManagementTest {
         });
     }
 
+    @Test
+    @DisplayName("Should update slot occupancy on reschedule and cancellation")
+    void testOccupancyAfterRescheduleAndCancel() {
+        assertDoesNotThrow(() -> {
+            Visit visit = visitManager.bookVisit(testDonor1, "2025-01-15", PeriodTime.Morning);
+            String visitId = String.valueOf(visit.getVisitId());
+
+            visitManager.rescheduleVisit(visitId, "2025-01-16", PeriodTime.Afternoon);
+            assertEquals(0, visitManager.getVisitsForDateAndPeriod("2025-01-15", PeriodTime.Morning));
+            assertEquals(1, visitManager.getVisitsForDateAndPeriod("2025-01-16", PeriodTime.Afternoon));
+
+            visitManager.cancelVisit(visitId);
+            visitManager.cancelVisit(visitId); // second cancellation frees nothing
+            assertEquals(0, visitManager.getVisitsForDateAndPeriod("2025-01-16", PeriodTime.Afternoon));
+            assertEquals(10, visitManager.getRemainingCapacity("2025-01-16", PeriodTime.Afternoon));
+        });
+    }
+
+    @Test
+    @DisplayName("Should not reschedule into a full slot")
+    void testRescheduleIntoFullSlot() {
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < 10; i++) {
+                visitManager.bookVisit(testDonor1, "2025-01-20", PeriodTime.Morning);
+            }
+            Visit visit = visitManager.bookVisit(testDonor2, "2025-01-21", PeriodTime.Morning);
+
+            assertThrows(OasisUserException.class, () -> {
+                visitManager.rescheduleVisit(String.valueOf(visit.getVisitId()), "2025-01-20", PeriodTime.Morning);
+            });
+            assertEquals("2025-01-21", visit.getDate());
+            assertEquals(1, visitManager.getVisitsForDateAndPeriod("2025-01-21", PeriodTime.Morning));
+        });
+    }
+
+    @Test
+    @DisplayName("Should answer date range queries in date order")
+    void testVisitsBetween() {
+        assertDoesNotThrow(() -> {
+            Visit late = visitManager.bookVisit(testDonor1, "2025-02-10", PeriodTime.Morning);
+            Visit early = visitManager.bookVisit(testDonor2, "2025-02-01", PeriodTime.Morning);
+            Visit middle = visitManager.bookVisit(testDonor1, "2025-02-05", PeriodTime.Afternoon);
+
+            assertEquals(List.of(early, middle, late),
+                         visitManager.getVisitsBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 10)));
+            assertEquals(List.of(middle),
+                         visitManager.getVisitsBetween(LocalDate.of(2025, 2, 2), LocalDate.of(2025, 2, 9)));
+
+            // moving a visit moves it in the index
+            visitManager.rescheduleVisit(String.valueOf(late.getVisitId()), "2025-02-03", PeriodTime.Morning);
+            assertEquals(List.of(early, late, middle),
+                         visitManager.getVisitsBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 10)));
+            assertTrue(visitManager.getVisitsForDate("2025-02-10").isEmpty());
+
+            assertThrows(IllegalArgumentException.class, () -> {
+                visitManager.getVisitsBetween(LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 1));
+            });
+        });
+    }
+
+    @Test
+    @DisplayName("Should list today and upcoming visits only")
+    void testTodayAndUpcomingVisits() {
+        assertDoesNotThrow(() -> {
+            LocalDate today = LocalDate.now();
+            Visit past = visitManager.bookVisit(testDonor1, today.minusDays(3).toString(), PeriodTime.Morning);
+            Visit current = visitManager.bookVisit(testDonor1, today.toString(), PeriodTime.Morning);
+            Visit next = visitManager.bookVisit(testDonor2, today.plusDays(2).toString(), PeriodTime.Afternoon);
+
+            assertEquals(List.of(current), visitManager.getVisitsForToday());
+            assertEquals(List.of(current, next), visitManager.getVisitsForNextDays(2));
+            assertEquals(List.of(current), visitManager.getVisitsForNextDays(1));
+
+            visitManager.cancelVisit(String.valueOf(next.getVisitId()));
+            assertEquals(List.of(current), visitManager.getUpcomingVisits());
+            assertFalse(visitManager.getUpcomingVisits().contains(past));
+            assertEquals(List.of(past, current), visitManager.getActiveVisits()); // the scheduled listing keeps past visits
+        });
+    }
+
+    @Test
+    @DisplayName("Should never overbook a slot under concurrent bookings")
+    void testConcurrentBookingCapacity() throws Exception {
+        int threads = 8;
+        AtomicInteger booked = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 5; i++) {
+                    try {
+                        visitManager.bookVisit(testDonor1, "2025-03-01", PeriodTime.Morning);
+                        booked.incrementAndGet();
+                    } catch (OasisUserException e) {
+                        // slot full
+                    }
+                    try {
+                        visitManager.bookVisit(testDonor2, "2025-03-02", PeriodTime.Afternoon);
+                    } catch (OasisUserException e) {
+                        // slot full
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(10, booked.get());
+        assertEquals(10, visitManager.getVisitsForDateAndPeriod("2025-03-01", PeriodTime.Morning));
+        assertEquals(10, visitManager.getVisitsForDate("2025-03-01").size());
+        assertEquals(10, visitManager.getVisitsForDateAndPeriod("2025-03-02", PeriodTime.Afternoon));
+        assertEquals(20, visitManager.getAllVisits().size());
+    }
+
+    @Test
+    @DisplayName("Should move visits between slots concurrently without overbooking or losing places")
+    void testConcurrentRescheduleTransfer() throws Exception {
+        long morning = LocalDate.of(2025, 3, 10).toEpochDay();
+        long afternoon = LocalDate.of(2025, 3, 11).toEpochDay();
+        List<Visit> visits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            visits.add(visitManager.bookVisit(testDonor1, morning, PeriodTime.Morning));
+        }
+        for (int i = 0; i < 6; i++) {
+            visits.add(visitManager.bookVisit(testDonor2, afternoon, PeriodTime.Afternoon));
+        }
+
+        // every visit tries to move to the other slot at the same time, crossing transfers included
+        AtomicInteger moved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (Visit visit : visits) {
+            boolean inMorning = visit.getTime() == PeriodTime.Morning;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    visitManager.rescheduleVisit(String.valueOf(visit.getVisitId()),
+                            inMorning ? afternoon : morning, inMorning ? PeriodTime.Afternoon : PeriodTime.Morning);
+                    moved.incrementAndGet();
+                } catch (InterruptedException | OasisUserException e) {
+                    // target full
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long inMorning = visitManager.getVisitsForDateAndPeriod(morning, PeriodTime.Morning);
+        long inAfternoon = visitManager.getVisitsForDateAndPeriod(afternoon, PeriodTime.Afternoon);
+        assertTrue(inMorning <= 10 && inAfternoon <= 10);
+        assertEquals(16, inMorning + inAfternoon);
+        assertEquals(inMorning, visits.stream().filter(v -> v.getTime() == PeriodTime.Morning).count());
+        assertTrue(moved.get() >= 4);
+    }
+
+    // BATCH BOOKING TESTS
+
+    @Test
+    @DisplayName("Should book a batch reserving each slot for the whole group")
+    void testBatchBooking() {
+        long day = LocalDate.of(2025, 5, 1).toEpochDay();
+        List<BookingRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(new BookingRequest(testDonor1, day, PeriodTime.Morning));
+        }
+        requests.add(BookingRequest.of(testDonor2, "2025-05-01", PeriodTime.Afternoon));
+        requests.add(new BookingRequest(testDonor2, day, null));
+
+        List<BookingOutcome> outcomes = visitManager.bookVisits(requests);
+
+        assertEquals(10, outcomes.size());
+        assertEquals(9, outcomes.stream().filter(BookingOutcome::isBooked).count());
+        assertFalse(outcomes.get(9).isBooked());
+        assertNotNull(outcomes.get(9).failure());
+        assertEquals(8, visitManager.getVisitsForDateAndPeriod(day, PeriodTime.Morning));
+        assertEquals(PeriodTime.Afternoon, outcomes.get(8).visit().getTime());
+        assertEquals(Status.Visitor, testDonor1.getStatusDonator());
+    }
+
+    @Test
+    @DisplayName("Should refuse a whole slot group that does not fit")
+    void testBatchBookingAllOrNothingPerSlot() {
+        assertDoesNotThrow(() -> {
+            long day = LocalDate.of(2025, 5, 2).toEpochDay();
+            for (int i = 0; i < 7; i++) {
+                visitManager.bookVisit(testDonor1, day, PeriodTime.Morning);
+            }
+            List<BookingRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                requests.add(new BookingRequest(testDonor2, day, PeriodTime.Morning));
+            }
+            requests.add(new BookingRequest(testDonor2, day, PeriodTime.Afternoon));
+
+            List<BookingOutcome> outcomes = visitManager.bookVisits(requests);
+
+            assertTrue(outcomes.subList(0, 4).stream().noneMatch(BookingOutcome::isBooked));
+            assertTrue(outcomes.get(0).failure().contains("3 available"));
+            assertTrue(outcomes.get(4).isBooked());
+            assertEquals(7, visitManager.getVisitsForDateAndPeriod(day, PeriodTime.Morning));
+        });
+    }
+
+    // HEATMAP TESTS
+
+    @Test
+    @DisplayName("Should keep the heatmap in step with bookings, cancellations and reschedules")
+    void testHeatmapUpdates() {
+        assertDoesNotThrow(() -> {
+            long day = LocalDate.now().plusDays(2).toEpochDay();
+            assertEquals(10, visitManager.getRemainingCapacity(day, PeriodTime.Morning));
+
+            Visit visit = visitManager.bookVisit(testDonor1, day, PeriodTime.Morning);
+            visitManager.bookVisit(testDonor2, day, PeriodTime.Morning);
+            assertEquals(8, visitManager.getRemainingCapacity(day, PeriodTime.Morning));
+
+            visitManager.rescheduleVisit(String.valueOf(visit.getVisitId()), day, PeriodTime.Afternoon);
+            assertEquals(9, visitManager.getRemainingCapacity(day, PeriodTime.Morning));
+            assertEquals(9, visitManager.getRemainingCapacity(day, PeriodTime.Afternoon));
+
+            visitManager.cancelVisit(String.valueOf(visit.getVisitId()));
+            assertEquals(10, visitManager.getRemainingCapacity(day, PeriodTime.Afternoon));
+            assertEquals(0, visitManager.getRemainingCapacity(day, PeriodTime.Evening));
+        });
+    }
+
+    @Test
+    @DisplayName("Should rebuild the heatmap when the calendar changes and answer past its horizon")
+    void testHeatmapCalendarChangeAndHorizon() throws OasisUserException {
+        SlotCalendar calendar = SlotCalendar.standard();
+        VisitManagement manager = new VisitManagement(calendar, 7);
+        LocalDate day = LocalDate.now().plusDays(3);
+        assertEquals(7, manager.getHeatmapDays());
+        assertEquals(10, manager.getRemainingCapacity(day.toEpochDay(), PeriodTime.Morning));
+
+        calendar.closeDate(day);
+        assertEquals(0, manager.getRemainingCapacity(day.toEpochDay(), PeriodTime.Morning));
+
+        long outside = LocalDate.now().plusDays(30).toEpochDay();
+        manager.bookVisit(testDonor1, outside, PeriodTime.Afternoon);
+        assertEquals(9, manager.getRemainingCapacity(outside, PeriodTime.Afternoon));
+        assertThrows(IllegalArgumentException.class, () -> new VisitManagement(calendar, 0));
+    }
+
+    // EARLIEST SLOT TESTS
+
+    @Test
+    @DisplayName("Should find the earliest slot fitting a group across booked stretches")
+    void testFindEarliestSlot() {
+        assertDoesNotThrow(() -> {
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            SlotCalendar calendar = SlotCalendar.standard();
+            for (int d = 0; d < 5; d++) {
+                calendar.dateCapacity(tomorrow.plusDays(d), PeriodTime.Morning, 2);
+                calendar.dateCapacity(tomorrow.plusDays(d), PeriodTime.Afternoon, 2);
+            }
+            VisitManagement manager = new VisitManagement(calendar, 30);
+            manager.bookVisit(testDonor1, tomorrow.toEpochDay(), PeriodTime.Morning);
+
+            Slot group = manager.findEarliestSlot(4);
+            assertEquals(tomorrow.plusDays(5).toEpochDay(), group.epochDay());
+            assertEquals(PeriodTime.Morning, group.period());
+            assertEquals(10, group.remaining());
+
+            Slot single = manager.nextAvailableSlot(tomorrow);
+            assertEquals(new Slot(tomorrow.toEpochDay(), PeriodTime.Morning, 1), single);
+            manager.bookVisit(testDonor2, tomorrow.toEpochDay(), PeriodTime.Morning);
+            assertEquals(PeriodTime.Afternoon, manager.nextAvailableSlot(tomorrow).period());
+
+            assertNull(manager.findEarliestSlot(tomorrow, tomorrow.plusDays(4), 3));
+            assertNotNull(manager.findEarliestSlot(tomorrow, tomorrow.plusDays(60), 3)); // past the heatmap
+            assertThrows(IllegalArgumentException.class, () -> manager.findEarliestSlot(0));
+        });
+    }
+
+    @Test
+    @DisplayName("Should list available slots skipping closed days")
+    void testAvailableSlotsSkipClosedDays() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        SlotCalendar calendar = SlotCalendar.standard();
+        for (int d = 0; d < 3; d++) {
+            calendar.closeDate(tomorrow.plusDays(d));
+        }
+        VisitManagement manager = new VisitManagement(calendar, 10);
+
+        List<Slot> slots = manager.availableSlots(5).toList();
+        assertEquals(4, slots.size());
+        assertEquals(tomorrow.plusDays(3).toEpochDay(), slots.get(0).epochDay());
+        assertEquals(PeriodTime.Afternoon, slots.get(1).period());
+        assertFalse(manager.hasAvailabilityFromTomorrow(3));
+    }
+
+    // WAITLIST TESTS
+
+    @Test
+    @DisplayName("Should promote waitlisted donors in FIFO order on cancel and reschedule")
+    void testWaitlistPromotion() {
+        assertDoesNotThrow(() -> {
+            long day = LocalDate.of(2025, 4, 1).toEpochDay();
+            List<Visit> booked = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                booked.add(visitManager.bookVisit(testDonor1, day, PeriodTime.Morning));
+            }
+            Donor third = new Donor("F", "Anna", "Neri", "1992-07-01", Role.DONOR);
+
+            assertNull(visitManager.bookOrWaitlist(testDonor2, day, PeriodTime.Morning));
+            assertNull(visitManager.bookOrWaitlist(third, day, PeriodTime.Morning));
+            assertEquals(1, visitManager.getWaitlistPosition(testDonor2, day, PeriodTime.Morning));
+            assertEquals(2, visitManager.getWaitlistPosition(third, day, PeriodTime.Morning));
+            assertThrows(OasisUserException.class, () -> visitManager.bookOrWaitlist(third, day, PeriodTime.Morning));
+
+            visitManager.cancelVisit(String.valueOf(booked.get(0).getVisitId()));
+            assertEquals(1, visitManager.getVisitsForDonor(testDonor2).size());
+            assertEquals(0, visitManager.getWaitlistPosition(testDonor2, day, PeriodTime.Morning));
+            assertEquals(1, visitManager.getWaitlistPosition(third, day, PeriodTime.Morning));
+            assertEquals(10, visitManager.getVisitsForDateAndPeriod(day, PeriodTime.Morning));
+
+            visitManager.rescheduleVisit(String.valueOf(booked.get(1).getVisitId()), day, PeriodTime.Afternoon);
+            assertEquals(1, visitManager.getVisitsForDonor(third).size());
+            assertEquals(0, visitManager.getWaitlistSize(day, PeriodTime.Morning));
+            assertEquals(0, visitManager.waitlistLines()); // the drained line is removed
+            assertEquals(10, visitManager.getVisitsForDateAndPeriod(day, PeriodTime.Morning));
+        });
+    }
+
+    @Test
+    @DisplayName("Should book directly when the slot has room")
+    void testWaitlistNotNeeded() {
+        assertDoesNotThrow(() -> {
+            long day = LocalDate.of(2025, 4, 2).toEpochDay();
+            Visit visit = visitManager.bookOrWaitlist(testDonor1, day, PeriodTime.Morning);
+            assertNotNull(visit);
+            assertEquals(0, visitManager.getWaitlistPosition(testDonor1, day, PeriodTime.Morning));
+
+            visitManager.cancelVisit(String.valueOf(visit.getVisitId()));
+            assertEquals(0, visitManager.getVisitsForDateAndPeriod(day, PeriodTime.Morning));
+        });
+    }
+
     // EDGE CASES AND ERROR HANDLING
 
     @Test
@@ -480,6 +894,11 @@ class VisitManagementTest {
         assertTrue(visitManager.getVisitsForDate("2024-12-25").isEmpty());
         
         assertEquals(0, visitManager.getVisitsForDateAndPeriod("2024-12-25", PeriodTime.Morning));
+
+        // malformed dates match no visit, as before the date index
+        assertTrue(visitManager.getVisitsForDate("25/12/2024").isEmpty());
+        assertTrue(visitManager.getVisitsForDate(null).isEmpty());
+        assertEquals(0, visitManager.getVisitsForDateAndPeriod("not-a-date", PeriodTime.Morning));
     }
 
     @Test
@@ -520,6 +939,13 @@ class VisitManagementTest {
         });
     }
 
+    @Test
+    @DisplayName("Should share one visit manager between sessions")
+    void testSharedInstance() {
+        assertSame(VisitManagement.shared(), VisitManagement.shared());
+        assertNotSame(visitManager, VisitManagement.shared());
+    }
+
     // DISPLAY METHODS TESTS (These would typically test output, here we test they don't crash)
 
     @Test
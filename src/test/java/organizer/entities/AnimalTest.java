@@ -3,8 +3,11 @@ package organizer.entities;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -16,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import organizer.datamanagement.EntityDirectory;
 import organizer.exceptionmanager.AnimalCreationException;
 import organizer.exceptionmanager.LengthException;
 import organizer.exceptionmanager.SexException;
@@ -288,6 +292,37 @@ class AnimalTest {
             Animal.loadFromFile("F", "", "Cat")); // Empty name
     }
 
+    // ID TESTS
+
+    @Test
+    @DisplayName("Should assign distinct ids and resolve them through the directory")
+    void testIdAssignmentAndLookup() {
+        assertDoesNotThrow(() -> {
+            Animal loaded = Animal.loadFromFile("M", "Rex", "Dog");
+            Animal other = Animal.loadFromFile("F", "Rex", "Dog"); // same name, different animal
+
+            assertTrue(animal.getId() > 0);
+            assertNotEquals(loaded.getId(), other.getId());
+            assertSame(loaded, EntityDirectory.ANIMALS.get(loaded.getId()));
+            assertSame(other, EntityDirectory.ANIMALS.get(other.getId()));
+            assertNotSame(animal, EntityDirectory.ANIMALS.get(animal.getId())); // plain instances are not registered
+            assertNull(EntityDirectory.ANIMALS.get(-1));
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep id read from file and allocate new ids after it")
+    void testLoadWithPersistedId() {
+        assertDoesNotThrow(() -> {
+            int persistedId = EntityDirectory.ANIMALS.getLastId() + 100;
+            Animal loaded = Animal.loadFromFile(persistedId, "F", "Mia", "gatto");
+
+            assertEquals(persistedId, loaded.getId());
+            assertSame(loaded, EntityDirectory.ANIMALS.get(persistedId));
+            assertTrue(new Animal("M", "Leo", "gatto").getId() > persistedId);
+        });
+    }
+
     // ==================== EDGE CASES TESTS ====================
 
     @Test
@@ -19,6 +19,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import organizer.datamanagement.AnimalUploading;
+import organizer.datamanagement.EntityDirectory;
+import organizer.datamanagement.PeopleUpdloading;
 import organizer.entities.Admin;
 import organizer.entities.Animal;
 import organizer.entities.Donor;
@@ -168,6 +171,67 @@ void testLoadAnimalsErrorReporting() {
     });
 }
 
+    @Test
+    @DisplayName("Should read persisted ids and fall back to line number for older records")
+    void testLoadAnimalsWithIds() throws Exception {
+        Path idFile = tempDir.resolve("animals-with-ids.txt");
+        Files.write(idFile, ("Animal F Anna gatto\n" +
+                             "Animal F Anna cane 7000\n").getBytes());
+
+        List<Animal> animals = dataService.loadAnimals(idFile.toString());
+        assertEquals(2, animals.size());
+        assertEquals(1, animals.get(0).getId());      // no id saved: line number
+        assertEquals(7000, animals.get(1).getId());   // persisted id
+
+        // reloading gives the same ids
+        List<Animal> reloaded = dataService.loadAnimals(idFile.toString());
+        assertEquals(animals.get(0).getId(), reloaded.get(0).getId());
+        assertEquals(animals.get(1).getId(), reloaded.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should skip only the lines with an invalid or out of range id")
+    void testLoadWithInvalidIds() throws Exception {
+        Path idFile = tempDir.resolve("animals-bad-ids.txt");
+        Files.write(idFile, ("Animal F Anna gatto 99999999999\n" +
+                             "Animal F Bice gatto 2000000000\n" +
+                             "Animal F Cleo cane 7001\n").getBytes());
+
+        List<Animal> animals = dataService.loadAnimals(idFile.toString());
+        assertEquals(1, animals.size());
+        assertEquals(7001, animals.get(0).getId());
+
+        Path uploadFile = tempDir.resolve("upload-bad-ids.txt");
+        Files.write(uploadFile, ("Animal F Anna gatto 2000000000\n" +
+                                 "Animal F Cleo cane 7002\n").getBytes());
+        assertEquals(1, new AnimalUploading(uploadFile.toString()).animalList().size());
+
+        Path peopleIdFile = tempDir.resolve("people-bad-ids.txt");
+        Files.write(peopleIdFile, ("Donor F Maria Rossi 1985-06-15 Donator DONOR 99999999999\n" +
+                                   "Donor M Luca Neri 1980-01-01 Donator DONOR 7003\n").getBytes());
+        assertEquals(1, new PeopleUpdloading(peopleIdFile.toString()).peopleList().size());
+        assertThrows(IllegalArgumentException.class, () -> EntityDirectory.parseId("2000000000"));
+    }
+
+    @Test
+    @DisplayName("Should allocate new ids after the line numbers of records saved without id")
+    void testLegacyIdsReserved() throws Exception {
+        int legacyLines = EntityDirectory.ANIMALS.getLastId() + 5;
+        StringBuilder legacy = new StringBuilder();
+        for (int i = 0; i < legacyLines; i++) {
+            legacy.append("Animal F Cat").append(i % 100).append(" gatto\n");
+        }
+        Path legacyFile = tempDir.resolve("animals-legacy.txt");
+        Files.writeString(legacyFile, legacy.toString());
+
+        List<Animal> animals = dataService.loadAnimals(legacyFile.toString());
+        assertEquals(legacyLines, animals.get(legacyLines - 1).getId());
+        assertTrue(new Animal("M", "Nuovo", "cane").getId() > legacyLines);
+
+        EntityDirectory.ANIMALS.reserve(List.of("Animal F Luna gatto", "Animal M Rex cane " + (legacyLines + 500)));
+        assertTrue(EntityDirectory.ANIMALS.nextId() > legacyLines + 500);
+    }
+
     // PEOPLE LOADING TESTS
 
     @Test